@@ -0,0 +1,402 @@
+package org.wcdevs.blog.cdk;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import software.amazon.awscdk.services.ec2.CfnSecurityGroup;
+import software.amazon.awscdk.services.ec2.CfnSecurityGroupIngress;
+import software.amazon.awscdk.services.elasticache.CfnParameterGroup;
+import software.amazon.awscdk.services.elasticache.CfnReplicationGroup;
+import software.amazon.awscdk.services.elasticache.CfnSubnetGroup;
+import software.amazon.awscdk.services.ssm.StringParameter;
+import software.constructs.Construct;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.wcdevs.blog.cdk.Util.joinedString;
+
+/**
+ * Represents a construct to create a Redis (ElastiCache) replication group in the isolated subnets
+ * of a given Vpc. The following parameters need to exist in the AWS parameter store (SSM)
+ * associated to the same environment the cache is created for this construct to successfully
+ * deploy:
+ * <ul>
+ *   <li>A {@link Network} vpc id </li>
+ *   <li>A {@link Network} isolated subnets (2 at least)</li>
+ *   <li>A {@link Network} availability zone</li>
+ * </ul>
+ * <p>
+ * The ECS containers reach the cache by providing the cache security group id
+ * ({@link #getCacheSecurityGroupId(Construct, ApplicationEnvironment)}) to the
+ * {@link ElasticContainerService} security groups to grant ingress from ECS, since the ECS
+ * security group is created along with the service and its id isn't exported.
+ * </p>
+ */
+@Setter(AccessLevel.PRIVATE)
+@Getter(AccessLevel.PACKAGE)
+public final class Cache extends Construct {
+  private static final String CONSTRUCT_NAME = "Cache";
+  private static final String DASH_JOINER = "-";
+  private static final String PARAM_ENDPOINT_ADDRESS = "endpointAddress";
+  private static final String PARAM_ENDPOINT_PORT = "endpointPort";
+  private static final String PARAM_READER_ENDPOINT_ADDRESS = "readerEndpointAddress";
+  private static final String PARAM_SECURITY_GROUP_ID = "securityGroupId";
+  // https://docs.aws.amazon.com/AmazonElastiCache/latest/red-ug/ParameterGroups.Redis.html
+  private static final String PARAMETER_CLUSTER_ENABLED = "cluster-enabled";
+  // https://docs.aws.amazon.com/AmazonElastiCache/latest/red-ug/Replication.Redis-RedisCluster.html
+  private static final int MAX_REPLICAS_PER_NODE_GROUP = 5;
+
+  private CfnSecurityGroup cacheSecurityGroup;
+  private CfnParameterGroup cacheParameterGroup;
+  private CfnReplicationGroup cacheReplicationGroup;
+  private boolean clusterModeEnabled;
+
+  private Cache(Construct scope, String id) {
+    super(scope, id);
+  }
+
+  /**
+   * Creates a new {@link Cache} from a given scope, construct id, an
+   * {@link ApplicationEnvironment} and some input parameters to configure the replication group.
+   *
+   * @param scope                  Construct scope.
+   * @param id                     Construct id.
+   * @param applicationEnvironment {@link ApplicationEnvironment} in which the cache will be
+   *                               deployed.
+   * @param inputParameters        {@link InputParameters} with configured values to create the
+   *                               replication group.
+   *
+   * @return A new {@link Cache} instance.
+   */
+  public static Cache newInstance(Construct scope, String id,
+                                  ApplicationEnvironment applicationEnvironment,
+                                  InputParameters inputParameters) {
+    var inParams = Objects.requireNonNull(inputParameters);
+    validateTopology(inParams);
+    var cache = new Cache(Objects.requireNonNull(scope), Objects.requireNonNull(id));
+    cache.setClusterModeEnabled(inParams.isClusterModeEnabled());
+
+    // retrieve network output params from SSM
+    var netOutParams = Network.outputParametersFrom(cache, applicationEnvironment);
+    var availabilityZones = netOutParams.getAvailabilityZones();
+    if (availabilityZones == null || availabilityZones.isEmpty()) {
+      throw new IllegalArgumentException("No availability zones in network");
+    }
+
+    var vpcId = netOutParams.getVpcId();
+    if (vpcId == null) {
+      throw new IllegalArgumentException("No VPC in network");
+    }
+    var secGroup = cfnSecurityGroup(cache, vpcId,
+                                    applicationEnvironment.prefixed("cacheSecurityGroup"));
+    cache.setCacheSecurityGroup(secGroup);
+    allowIngressFromSecurityGroupIds(cache, secGroup.getAttrGroupId(), inParams);
+
+    var subnetGroupName = applicationEnvironment.prefixed("cacheSubnetGroup");
+    var subnetGroup = cfnSubnetGroup(cache, subnetGroupName, netOutParams.getIsolatedSubnets());
+
+    var parameterGroup = cfnParameterGroup(cache, applicationEnvironment, inParams);
+    cache.setCacheParameterGroup(parameterGroup);
+
+    var replicationGroup = replicationGroup(cache, applicationEnvironment, inParams,
+                                            subnetGroup.getCacheSubnetGroupName(),
+                                            parameterGroup, secGroup.getAttrGroupId());
+    replicationGroup.addDependsOn(subnetGroup);
+    cache.setCacheReplicationGroup(replicationGroup);
+
+    saveCacheInfoToParameterStore(cache, applicationEnvironment);
+    applicationEnvironment.tag(cache);
+
+    return cache;
+  }
+
+  // region helpers
+  private static void validateTopology(InputParameters inParams) {
+    var replicas = inParams.getReplicasPerNodeGroup();
+    if (replicas < 0 || replicas > MAX_REPLICAS_PER_NODE_GROUP) {
+      throw new IllegalArgumentException("Replicas per node group must be between 0 and "
+                                         + MAX_REPLICAS_PER_NODE_GROUP);
+    }
+    if (inParams.isClusterModeEnabled() && inParams.getNumNodeGroups() < 1) {
+      throw new IllegalArgumentException("Cluster mode requires one node group (shard) at least");
+    }
+    if (inParams.isMultiAzEnabled() && replicas < 1) {
+      throw new IllegalArgumentException("Multi-AZ requires one replica per node group at least");
+    }
+  }
+
+  private static CfnSecurityGroup cfnSecurityGroup(Construct scope, String vpcId,
+                                                   String securityGroupName) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ec2-security-group.html
+    return CfnSecurityGroup.Builder.create(scope, "cacheSecurityGroup")
+                                   .vpcId(vpcId)
+                                   .groupDescription("Cache security group")
+                                   .groupName(securityGroupName)
+                                   .build();
+  }
+
+  private static void allowIngressFromSecurityGroupIds(Construct scope, String cacheSecGroupId,
+                                                       InputParameters inParams) {
+    var sourceSecurityGroupIds
+        = Optional.ofNullable(inParams.getSecurityGroupIdsToAllowIngressFrom()).orElse(emptyList());
+    for (var i = 0; i < sourceSecurityGroupIds.size(); i++) {
+      // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ec2-security-group-ingress.html
+      CfnSecurityGroupIngress.Builder.create(scope, "cacheIngressFromSecurityGroup" + (i + 1))
+                                     .sourceSecurityGroupId(sourceSecurityGroupIds.get(i))
+                                     .groupId(cacheSecGroupId)
+                                     .ipProtocol("tcp")
+                                     .fromPort(inParams.getPortNumber())
+                                     .toPort(inParams.getPortNumber())
+                                     .build();
+    }
+  }
+
+  private static CfnSubnetGroup cfnSubnetGroup(Construct scope, String subnetGroupName,
+                                               List<String> subnetIds) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-elasticache-subnetgroup.html
+    if (subnetIds.size() < 2) {
+      throw new IllegalArgumentException("Cache subnet groups must contain at least two subnets in "
+                                         + "two different Availability Zones");
+    }
+    return CfnSubnetGroup.Builder.create(scope, "cacheSubnetGroup")
+                                 .description("Cache subnet group")
+                                 .cacheSubnetGroupName(subnetGroupName)
+                                 .subnetIds(subnetIds)
+                                 .build();
+  }
+
+  private static CfnParameterGroup cfnParameterGroup(Construct scope,
+                                                     ApplicationEnvironment appEnv,
+                                                     InputParameters inParams) {
+    var parameters = new HashMap<>(Optional.ofNullable(inParams.getParameters())
+                                           .orElse(emptyMap()));
+    if (inParams.isClusterModeEnabled()) {
+      parameters.put(PARAMETER_CLUSTER_ENABLED, "yes");
+    }
+    if (parameters.isEmpty()) {
+      // the engine default parameter group is used
+      return null;
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-elasticache-parameter-group.html
+    return CfnParameterGroup.Builder.create(scope, "cacheParameterGroup")
+                                    .cacheParameterGroupFamily(inParams.getParameterGroupFamily())
+                                    .description(appEnv.prefixed("cache-parameter-group"))
+                                    .properties(parameters)
+                                    .build();
+  }
+
+  private static CfnReplicationGroup replicationGroup(Construct scope,
+                                                      ApplicationEnvironment appEnv,
+                                                      InputParameters inParams,
+                                                      String subnetGroupName,
+                                                      CfnParameterGroup parameterGroup,
+                                                      String securityGroupId) {
+    var clusterMode = inParams.isClusterModeEnabled();
+    var replicas = inParams.getReplicasPerNodeGroup();
+    var parameterGroupName = parameterGroup != null ? parameterGroup.getRef() : null;
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-elasticache-replicationgroup.html
+    return CfnReplicationGroup.Builder
+        .create(scope, "cacheReplicationGroup")
+        .replicationGroupDescription(appEnv.prefixed("cache"))
+        .engine(InputParameters.ENGINE_REDIS)
+        .engineVersion(inParams.getEngineVersion())
+        .cacheNodeType(inParams.getNodeType())
+        .cacheSubnetGroupName(subnetGroupName)
+        .cacheParameterGroupName(parameterGroupName)
+        .securityGroupIds(List.of(securityGroupId))
+        .port(inParams.getPortNumber())
+        .numNodeGroups(clusterMode ? inParams.getNumNodeGroups() : 1)
+        .replicasPerNodeGroup(replicas)
+        // cluster mode requires automatic failover
+        .automaticFailoverEnabled(clusterMode || replicas > 0)
+        .multiAzEnabled(inParams.isMultiAzEnabled())
+        .atRestEncryptionEnabled(inParams.isAtRestEncryptionEnabled())
+        .transitEncryptionEnabled(inParams.isTransitEncryptionEnabled())
+        .autoMinorVersionUpgrade(inParams.isMinorVersionAutoUpgradeEnabled())
+        .snapshotRetentionLimit(inParams.getSnapshotRetentionLimitInDays())
+        .build();
+  }
+
+  private static void saveCacheInfoToParameterStore(Cache cache,
+                                                    ApplicationEnvironment appEnvironment) {
+    var replicationGroup = cache.getCacheReplicationGroup();
+    // in cluster mode the clients discover the shards through the configuration endpoint, which
+    // is the only one available
+    var clusterMode = cache.isClusterModeEnabled();
+    var endpointAddress = clusterMode
+                          ? replicationGroup.getAttrConfigurationEndPointAddress()
+                          : replicationGroup.getAttrPrimaryEndPointAddress();
+    var endpointPort = clusterMode
+                       ? replicationGroup.getAttrConfigurationEndPointPort()
+                       : replicationGroup.getAttrPrimaryEndPointPort();
+    var readerEndpointAddress = clusterMode
+                                ? replicationGroup.getAttrConfigurationEndPointAddress()
+                                : replicationGroup.getAttrReaderEndPointAddress();
+    createStringParameter(cache, appEnvironment, PARAM_ENDPOINT_ADDRESS, endpointAddress);
+    createStringParameter(cache, appEnvironment, PARAM_ENDPOINT_PORT, endpointPort);
+    createStringParameter(cache, appEnvironment, PARAM_READER_ENDPOINT_ADDRESS,
+                          readerEndpointAddress);
+    createStringParameter(cache, appEnvironment, PARAM_SECURITY_GROUP_ID,
+                          cache.getCacheSecurityGroup().getAttrGroupId());
+  }
+
+  private static void createStringParameter(Construct scope, ApplicationEnvironment appEnvironment,
+                                            String id, String stringValue) {
+    StringParameter.Builder.create(scope, id)
+                           .parameterName(parameterName(appEnvironment, id))
+                           .stringValue(stringValue)
+                           .build();
+  }
+
+  private static String parameterName(ApplicationEnvironment appEnvironment, String parameterName) {
+    return joinedString(DASH_JOINER, appEnvironment.getEnvironmentName(),
+                        appEnvironment.getApplicationName(), CONSTRUCT_NAME, parameterName);
+  }
+  // endregion
+
+  // region output parameters
+
+  public static String getParameter(Construct scope, ApplicationEnvironment appEnvironment,
+                                    String id) {
+    var parameterName = parameterName(appEnvironment, id);
+    return StringParameter.fromStringParameterName(scope, id, parameterName).getStringValue();
+  }
+
+  public static String getCacheEndpointAddress(Construct scope,
+                                               ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_ENDPOINT_ADDRESS);
+  }
+
+  public static String getCacheEndpointPort(Construct scope,
+                                            ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_ENDPOINT_PORT);
+  }
+
+  public static String getCacheReaderEndpointAddress(Construct scope,
+                                                     ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_READER_ENDPOINT_ADDRESS);
+  }
+
+  public static String getCacheSecurityGroupId(Construct scope,
+                                               ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_SECURITY_GROUP_ID);
+  }
+
+  /**
+   * Returns a {@link Cache} output parameters generated by a previously constructed
+   * {@link Cache} instance.
+   *
+   * @param scope          Scope construct to be provided to the SSM to retrieve the parameters.
+   * @param appEnvironment {@link ApplicationEnvironment} to determine the application and
+   *                       environment to which the output parameters
+   *                       are associated to.
+   *
+   * @return An {@link OutputParameters} instance containing the parameters from the SSM.
+   */
+  public static OutputParameters outputParametersFrom(Construct scope,
+                                                      ApplicationEnvironment appEnvironment) {
+    return new OutputParameters(getCacheEndpointAddress(scope, appEnvironment),
+                                getCacheEndpointPort(scope, appEnvironment),
+                                getCacheReaderEndpointAddress(scope, appEnvironment),
+                                getCacheSecurityGroupId(scope, appEnvironment));
+  }
+  // endregion
+
+  /**
+   * Holds the input parameters to build a new {@link Cache}.
+   */
+  @Getter(AccessLevel.PACKAGE)
+  @lombok.Builder
+  public static final class InputParameters {
+    public static final String ENGINE_REDIS = "redis";
+    // see https://docs.aws.amazon.com/AmazonElastiCache/latest/red-ug/supported-engine-versions.html
+    public static final String DEFAULT_ENGINE_VERSION = "6.2";
+    public static final String DEFAULT_PARAMETER_GROUP_FAMILY = "redis6.x";
+    public static final String DEFAULT_NODE_TYPE = "cache.t3.micro";
+
+    /**
+     * Cache node type.
+     *
+     * @see <a href="https://docs.aws.amazon.com/AmazonElastiCache/latest/red-ug/CacheNodes.SupportedTypes.html">Supported node types</a>
+     */
+    @lombok.Builder.Default
+    private String nodeType = DEFAULT_NODE_TYPE;
+    @lombok.Builder.Default
+    private String engineVersion = DEFAULT_ENGINE_VERSION;
+    /**
+     * Family of the parameter group, it must match the engine version.
+     */
+    @lombok.Builder.Default
+    private String parameterGroupFamily = DEFAULT_PARAMETER_GROUP_FAMILY;
+    /**
+     * Redis parameters (i.e.: {@code maxmemory-policy}) set in a parameter group created for the
+     * cache. If empty and the cluster mode is disabled, the engine default parameter group is used.
+     *
+     * @see <a href="https://docs.aws.amazon.com/AmazonElastiCache/latest/red-ug/ParameterGroups.Redis.html">Redis-specific parameters</a>
+     */
+    @lombok.Builder.Default
+    private Map<String, String> parameters = emptyMap();
+    /**
+     * Whether the data is partitioned across several node groups (shards). If enabled, the clients
+     * must support the Redis cluster protocol.
+     */
+    private boolean clusterModeEnabled;
+    /**
+     * Number of node groups (shards), only used when the cluster mode is enabled.
+     */
+    @lombok.Builder.Default
+    private int numNodeGroups = 1;
+    /**
+     * Number of read replicas in each node group, from 0 to 5. If greater than 0, the automatic
+     * failover to a replica is enabled.
+     */
+    private int replicasPerNodeGroup;
+    /**
+     * Whether the replicas are placed in availability zones other than the one of the primary
+     * node. It requires one replica per node group at least.
+     */
+    private boolean multiAzEnabled;
+    private boolean atRestEncryptionEnabled;
+    /**
+     * Whether the traffic to the cache is encrypted (TLS). If enabled, the clients must connect
+     * through TLS.
+     */
+    private boolean transitEncryptionEnabled;
+    @lombok.Builder.Default
+    private boolean minorVersionAutoUpgradeEnabled = true;
+    @lombok.Builder.Default
+    private int portNumber = 6379;
+    /**
+     * Days the automatic snapshots are retained. 0 disables them.
+     */
+    private int snapshotRetentionLimitInDays;
+    /**
+     * Ids of the security groups of clients other than the ECS services allowed to reach the
+     * cache port. The ECS containers are granted access from their side instead, see
+     * {@link Cache}.
+     */
+    @lombok.Builder.Default
+    private List<String> securityGroupIdsToAllowIngressFrom = emptyList();
+  }
+
+  /**
+   * Holds the output parameters generated by a previously created {@link Cache} construct.
+   */
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PACKAGE)
+  @EqualsAndHashCode
+  public static final class OutputParameters {
+    private final String endpointAddress;
+    private final String endpointPort;
+    private final String readerEndpointAddress;
+    private final String securityGroupId;
+  }
+}
@@ -0,0 +1,343 @@
+package org.wcdevs.blog.cdk;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import software.amazon.awscdk.Duration;
+import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.Stack;
+import software.amazon.awscdk.StackProps;
+import software.amazon.awscdk.services.cloudfront.AllowedMethods;
+import software.amazon.awscdk.services.cloudfront.BehaviorOptions;
+import software.amazon.awscdk.services.cloudfront.CacheCookieBehavior;
+import software.amazon.awscdk.services.cloudfront.CacheHeaderBehavior;
+import software.amazon.awscdk.services.cloudfront.CachePolicy;
+import software.amazon.awscdk.services.cloudfront.CacheQueryStringBehavior;
+import software.amazon.awscdk.services.cloudfront.Distribution;
+import software.amazon.awscdk.services.cloudfront.IOrigin;
+import software.amazon.awscdk.services.cloudfront.OriginProtocolPolicy;
+import software.amazon.awscdk.services.cloudfront.OriginRequestCookieBehavior;
+import software.amazon.awscdk.services.cloudfront.OriginRequestHeaderBehavior;
+import software.amazon.awscdk.services.cloudfront.OriginRequestPolicy;
+import software.amazon.awscdk.services.cloudfront.OriginRequestQueryStringBehavior;
+import software.amazon.awscdk.services.cloudfront.PriceClass;
+import software.amazon.awscdk.services.cloudfront.ViewerProtocolPolicy;
+import software.amazon.awscdk.services.cloudfront.origins.HttpOrigin;
+import software.amazon.awscdk.services.cloudfront.origins.HttpOriginProps;
+import software.amazon.awscdk.services.route53.ARecord;
+import software.amazon.awscdk.services.route53.RecordTarget;
+import software.amazon.awscdk.services.route53.targets.CloudFrontTarget;
+import software.constructs.Construct;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Represents a construct to create a CloudFront distribution in front of the load balancer of a
+ * previously deployed {@link Network}, so the cacheable responses are served at the edge without
+ * reaching the application containers. The following parameters need to exist in the AWS parameter
+ * store (SSM) associated to the same environment the distribution is created for this construct to
+ * successfully deploy:
+ * <ul>
+ *   <li>An Elastic Load Balancer DNS name, in a previously deployed {@link Network}</li>
+ * </ul>
+ * <p>
+ * The viewers are served through HTTPS with a DNS validated certificate created (in the region
+ * required by CloudFront) for the distribution domain name, which is aliased to the distribution
+ * in the hosted zone.
+ * </p>
+ *
+ * @see DomainStack
+ */
+public final class ContentDeliveryStack extends Stack {
+  private static final String CONSTRUCT_NAME = "content-delivery-stack";
+  // https://docs.aws.amazon.com/AmazonCloudFront/latest/DeveloperGuide/cnames-and-https-requirements.html
+  private static final String CLOUDFRONT_CERTIFICATE_REGION = "us-east-1";
+
+  private ContentDeliveryStack(Construct scope, String id, Environment awsEnvironment,
+                               ApplicationEnvironment applicationEnvironment) {
+    super(scope, id, StackProps.builder()
+                               .stackName(applicationEnvironment.prefixed(CONSTRUCT_NAME))
+                               .env(awsEnvironment)
+                               .build());
+  }
+
+  /**
+   * Creates a new Content Delivery Stack.
+   *
+   * @param scope                  Scope for the Content Delivery Stack construct to be created.
+   * @param id                     A unique identifier.
+   * @param awsEnvironment         AWS Environment.
+   * @param applicationEnvironment Same Application Environment a previously {@link Network} (and
+   *                               others) was deployed.
+   * @param hostedZoneDomainName   The (sub) domain name of the hosted zone.
+   * @param distributionDomainName The (sub) domain the distribution is served from.
+   * @param inputParameters        Configuration of the distribution.
+   *
+   * @return The newly created {@link ContentDeliveryStack}.
+   */
+  public static ContentDeliveryStack newInstance(Construct scope, String id,
+                                                 Environment awsEnvironment,
+                                                 ApplicationEnvironment applicationEnvironment,
+                                                 String hostedZoneDomainName,
+                                                 String distributionDomainName,
+                                                 InputParameters inputParameters) {
+    var inParams = Objects.requireNonNull(inputParameters);
+    var stack = new ContentDeliveryStack(Objects.requireNonNull(scope),
+                                         Objects.requireNonNull(id),
+                                         Objects.requireNonNull(awsEnvironment),
+                                         Objects.requireNonNull(applicationEnvironment));
+
+    var hostedZone = DomainStack.hostedZone(stack, Objects.requireNonNull(hostedZoneDomainName));
+    var certificate = DomainStack.certificate(stack, "DistributionCertificate", hostedZone,
+                                              CLOUDFRONT_CERTIFICATE_REGION,
+                                              Objects.requireNonNull(distributionDomainName));
+
+    var networkParams = Network.outputParametersFrom(stack, applicationEnvironment);
+    var origin = origin(networkParams, inParams);
+
+    var defaultBehavior = behavior(stack, applicationEnvironment, "default", origin,
+                                   Objects.requireNonNull(inParams.getDefaultCacheBehavior()));
+    var additionalBehaviors = new LinkedHashMap<String, BehaviorOptions>();
+    var index = 0;
+    for (var pathBehavior : inParams.getCacheBehaviors().entrySet()) {
+      additionalBehaviors.put(pathBehavior.getKey(),
+                              behavior(stack, applicationEnvironment, String.valueOf(index++),
+                                       origin, pathBehavior.getValue()));
+    }
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-cloudfront-distribution.html
+    var distribution = Distribution.Builder.create(stack, "Distribution")
+                                           .comment(applicationEnvironment.prefixed("cdn"))
+                                           .defaultBehavior(defaultBehavior)
+                                           .additionalBehaviors(additionalBehaviors)
+                                           .domainNames(List.of(distributionDomainName))
+                                           .certificate(certificate)
+                                           .priceClass(inParams.getPriceClass())
+                                           .build();
+
+    ARecord.Builder.create(stack, "DistributionARecord")
+                   .recordName(distributionDomainName)
+                   .zone(hostedZone)
+                   .target(RecordTarget.fromAlias(new CloudFrontTarget(distribution)))
+                   .build();
+    applicationEnvironment.tag(stack);
+
+    return stack;
+  }
+
+  private static IOrigin origin(Network.OutputParameters networkParams,
+                                InputParameters inParams) {
+    // the load balancer DNS name doesn't match its certificate, HTTPS requires a domain which does
+    var originDomainName = inParams.getOriginDomainName();
+    var httpsOrigin = inParams.isHttpsOrigin();
+    if (httpsOrigin && originDomainName == null) {
+      throw new IllegalArgumentException("An origin domain name is required to reach the origin "
+                                         + "through HTTPS");
+    }
+    var keepaliveTimeout = seconds(inParams.getOriginKeepaliveTimeoutSeconds());
+    var originProps = HttpOriginProps.builder()
+                                     .protocolPolicy(httpsOrigin
+                                                     ? OriginProtocolPolicy.HTTPS_ONLY
+                                                     : OriginProtocolPolicy.HTTP_ONLY)
+                                     .keepaliveTimeout(keepaliveTimeout)
+                                     .readTimeout(seconds(inParams.getOriginReadTimeoutSeconds()))
+                                     .originShieldRegion(inParams.getOriginShieldRegion())
+                                     .build();
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-cloudfront-distribution-customoriginconfig.html
+    return new HttpOrigin(originDomainName != null
+                          ? originDomainName
+                          : networkParams.getLoadBalancerDnsName(),
+                          originProps);
+  }
+
+  private static Duration seconds(Integer seconds) {
+    return seconds != null ? Duration.seconds(seconds) : null;
+  }
+
+  private static BehaviorOptions behavior(Construct scope, ApplicationEnvironment appEnv,
+                                          String name, IOrigin origin, CacheBehavior conf) {
+    if (conf.getMinTtlSeconds() > conf.getDefaultTtlSeconds()
+        || conf.getDefaultTtlSeconds() > conf.getMaxTtlSeconds()) {
+      throw new IllegalArgumentException("Cache behavior TTLs must satisfy min <= default <= max");
+    }
+    var behaviorBuilder = BehaviorOptions.builder()
+                                         .origin(origin)
+                                         .allowedMethods(conf.isAllMethodsAllowed()
+                                                         ? AllowedMethods.ALLOW_ALL
+                                                         : AllowedMethods.ALLOW_GET_HEAD_OPTIONS)
+                                         .viewerProtocolPolicy(
+                                             ViewerProtocolPolicy.REDIRECT_TO_HTTPS);
+    if (conf.isCachingDisabled()) {
+      // https://docs.aws.amazon.com/AmazonCloudFront/latest/DeveloperGuide/controlling-origin-requests.html
+      var originRequestPolicyName = appEnv.prefixed(name + "-origin-request-policy");
+      var originRequestPolicy
+          = OriginRequestPolicy.Builder.create(scope, originRequestPolicyName)
+                                       .originRequestPolicyName(originRequestPolicyName)
+                                       .queryStringBehavior(OriginRequestQueryStringBehavior.all())
+                                       .cookieBehavior(OriginRequestCookieBehavior.all())
+                                       .headerBehavior(originRequestHeaderBehavior(conf))
+                                       .build();
+      // CloudFront only compresses if the cache policy enables the encodings, which this doesn't
+      return behaviorBuilder.compress(false)
+                            .cachePolicy(CachePolicy.CACHING_DISABLED)
+                            .originRequestPolicy(originRequestPolicy)
+                            .build();
+    }
+
+    // https://docs.aws.amazon.com/AmazonCloudFront/latest/DeveloperGuide/controlling-the-cache-key.html
+    var compressionEnabled = conf.isCompressionEnabled();
+    var cachePolicyName = appEnv.prefixed(name + "-cache-policy");
+    var cachePolicy = CachePolicy.Builder.create(scope, cachePolicyName)
+                                         .cachePolicyName(cachePolicyName)
+                                         .defaultTtl(Duration.seconds(conf.getDefaultTtlSeconds()))
+                                         .minTtl(Duration.seconds(conf.getMinTtlSeconds()))
+                                         .maxTtl(Duration.seconds(conf.getMaxTtlSeconds()))
+                                         .queryStringBehavior(queryStringBehavior(conf))
+                                         .cookieBehavior(cookieBehavior(conf))
+                                         .headerBehavior(headerBehavior(conf))
+                                         .enableAcceptEncodingBrotli(compressionEnabled)
+                                         .enableAcceptEncodingGzip(compressionEnabled)
+                                         .build();
+    return behaviorBuilder.compress(compressionEnabled).cachePolicy(cachePolicy).build();
+  }
+
+  private static CacheQueryStringBehavior queryStringBehavior(CacheBehavior conf) {
+    if (conf.isAllQueryStrings()) {
+      return CacheQueryStringBehavior.all();
+    }
+    var queryStrings = conf.getQueryStrings();
+    return queryStrings == null || queryStrings.isEmpty()
+           ? CacheQueryStringBehavior.none()
+           : CacheQueryStringBehavior.allowList(queryStrings.toArray(String[]::new));
+  }
+
+  private static CacheCookieBehavior cookieBehavior(CacheBehavior conf) {
+    if (conf.isAllCookies()) {
+      return CacheCookieBehavior.all();
+    }
+    var cookies = conf.getCookies();
+    return cookies == null || cookies.isEmpty()
+           ? CacheCookieBehavior.none()
+           : CacheCookieBehavior.allowList(cookies.toArray(String[]::new));
+  }
+
+  private static CacheHeaderBehavior headerBehavior(CacheBehavior conf) {
+    var headers = conf.getHeaders();
+    return headers == null || headers.isEmpty()
+           ? CacheHeaderBehavior.none()
+           : CacheHeaderBehavior.allowList(headers.toArray(String[]::new));
+  }
+
+  private static OriginRequestHeaderBehavior originRequestHeaderBehavior(CacheBehavior conf) {
+    var headers = conf.getHeaders();
+    return headers == null || headers.isEmpty()
+           ? OriginRequestHeaderBehavior.none()
+           : OriginRequestHeaderBehavior.allowList(headers.toArray(String[]::new));
+  }
+
+  /**
+   * Holds the input parameters to build a new {@link ContentDeliveryStack}.
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class InputParameters {
+    /**
+     * Domain name pointing to the load balancer, such as the application domain of a previously
+     * deployed {@link DomainStack}. If not set, the requests are sent to the load balancer DNS
+     * name.
+     */
+    private String originDomainName;
+    /**
+     * Whether the requests are sent to the origin through HTTPS instead of HTTP. It must be set if
+     * the network has an SSL certificate, since its HTTP listener redirects every request to
+     * HTTPS, and it requires an {@link #originDomainName} covered by the certificate.
+     */
+    private boolean httpsOrigin;
+    /**
+     * Seconds CloudFront keeps an idle connection to the origin open, so it's reused by the next
+     * requests. It should be lower than the load balancer idle timeout. If not set, the CloudFront
+     * default (5 seconds) is used.
+     *
+     * @see Network.InputParameters#getLoadBalancerIdleTimeoutSeconds()
+     */
+    private Integer originKeepaliveTimeoutSeconds;
+    /**
+     * Seconds CloudFront waits for a response from the origin. If not set, the CloudFront default
+     * (30 seconds) is used.
+     */
+    private Integer originReadTimeoutSeconds;
+    /**
+     * Region of the Origin Shield, an additional caching layer which reduces the load on the
+     * origin. It should be the region the load balancer is deployed in. If not set, no Origin
+     * Shield is used.
+     */
+    private String originShieldRegion;
+    /**
+     * Behavior of the requests not matching any of the {@link #cacheBehaviors}. <b>If not set,
+     * nothing is cached</b>: every request is passed through to the origin with all its methods,
+     * query strings and cookies, so the application behaves as without the distribution. The
+     * cacheable paths must be configured explicitly.
+     */
+    @lombok.Builder.Default
+    private CacheBehavior defaultCacheBehavior = CacheBehavior.builder()
+                                                              .cachingDisabled(true)
+                                                              .allMethodsAllowed(true)
+                                                              .build();
+    /**
+     * Cache behaviors by path pattern (i.e.: {@code /posts/*}, {@code *.css}), evaluated before
+     * the default one in the iteration order of the map (i.e.: a {@link LinkedHashMap}).
+     */
+    @lombok.Builder.Default
+    private Map<String, CacheBehavior> cacheBehaviors = emptyMap();
+    @lombok.Builder.Default
+    private PriceClass priceClass = PriceClass.PRICE_CLASS_100;
+  }
+
+  /**
+   * Holds the configuration of how the requests to a path are cached. Only the query strings,
+   * cookies and headers in the cache key are sent to the origin, unless the caching is disabled.
+   * <b>By default no query strings, cookies nor headers are in the cache key and only GET, HEAD
+   * and OPTIONS requests are allowed</b>, which suits static content only.
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class CacheBehavior {
+    /**
+     * Whether the responses aren't cached at all, in which case all the query strings and cookies
+     * (and the {@link #headers}) are sent to the origin and the TTLs are ignored.
+     */
+    private boolean cachingDisabled;
+    /**
+     * Seconds the responses are cached when the origin doesn't send a {@code Cache-Control} or an
+     * {@code Expires} header.
+     */
+    private int defaultTtlSeconds;
+    private int minTtlSeconds;
+    @lombok.Builder.Default
+    private int maxTtlSeconds = 31_536_000;
+    private boolean allQueryStrings;
+    @lombok.Builder.Default
+    private List<String> queryStrings = emptyList();
+    private boolean allCookies;
+    @lombok.Builder.Default
+    private List<String> cookies = emptyList();
+    @lombok.Builder.Default
+    private List<String> headers = emptyList();
+    /**
+     * Whether the responses are compressed by CloudFront with Brotli or Gzip, when supported by
+     * the viewer. It's ignored if the {@link #cachingDisabled caching is disabled}, since the
+     * managed policy used then doesn't enable the encodings: the origin must compress itself.
+     */
+    @lombok.Builder.Default
+    private boolean compressionEnabled = true;
+    /**
+     * Whether all the HTTP methods are sent to the origin, instead of only GET, HEAD and OPTIONS.
+     */
+    private boolean allMethodsAllowed;
+  }
+}
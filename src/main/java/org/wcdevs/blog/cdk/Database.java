@@ -6,6 +6,12 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import software.amazon.awscdk.services.ec2.CfnSecurityGroup;
+import software.amazon.awscdk.services.ec2.CfnSecurityGroupIngress;
+import software.amazon.awscdk.services.iam.Role;
+import software.amazon.awscdk.services.iam.ServicePrincipal;
+import software.amazon.awscdk.services.rds.CfnDBProxy;
+import software.amazon.awscdk.services.rds.CfnDBProxyTargetGroup;
+import software.amazon.awscdk.services.rds.CfnDBCluster;
 import software.amazon.awscdk.services.rds.CfnDBInstance;
 import software.amazon.awscdk.services.rds.CfnDBSubnetGroup;
 import software.amazon.awscdk.services.rds.StorageType;
@@ -16,10 +22,16 @@ import software.amazon.awscdk.services.secretsmanager.SecretStringGenerator;
 import software.amazon.awscdk.services.ssm.StringParameter;
 import software.constructs.Construct;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.wcdevs.blog.cdk.Util.joinedString;
+import static org.wcdevs.blog.cdk.Util.memoized;
 
 /**
  * Represents a constructs to create a Database in an isolated subnet of a given Vpc. The
@@ -30,27 +42,71 @@ import static org.wcdevs.blog.cdk.Util.joinedString;
  *   <li>A {@link Network} isolated subnets (2 at least)</li>
  *   <li>A {@link Network} availability zone</li>
  * </ul>
+ * <p>
+ * Optionally, an RDS Proxy is placed in front of the DB instance, so the connections opened by
+ * the application instances are pooled and shared instead of being opened against the DB
+ * instance directly.
+ * </p>
+ * <p>
+ * Optionally, read replicas of the DB instance are created, so the read-only queries can be spread
+ * across them. Their endpoints are published as reader endpoint addresses.
+ * </p>
+ * <p>
+ * If an Aurora engine is used, an Aurora cluster is created instead, with a writer instance and
+ * the read replicas as reader instances, either provisioned or Serverless v2. The same SSM output
+ * parameters are published, along with the cluster writer and reader endpoints.
+ * </p>
  */
 @Setter(AccessLevel.PRIVATE)
 @Getter(AccessLevel.PACKAGE)
 public final class Database extends Construct {
   // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-rds-database-instance.html
   private static final String TARGET_TYPE_AWS_RDS_DB_INSTANCE = "AWS::RDS::DBInstance";
+  // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-secretsmanager-secrettargetattachment.html#cfn-secretsmanager-secrettargetattachment-targettype
+  private static final String TARGET_TYPE_AWS_RDS_DB_CLUSTER = "AWS::RDS::DBCluster";
   private static final String CONSTRUCT_NAME = "Database";
   private static final String DASH_JOINER = "-";
   private static final String PARAM_ENDPOINT_ADDRESS = "endpointAddress";
+  private static final String PARAM_PROXY_ENDPOINT_ADDRESS = "proxyEndpointAddress";
+  private static final String PARAM_WRITER_ENDPOINT_ADDRESS = "writerEndpointAddress";
+  private static final String PARAM_CLUSTER_READER_ENDPOINT = "clusterReaderEndpointAddress";
   private static final String PARAM_ENDPOINT_PORT = "endpointPort";
+  private static final String PARAM_READER_ENDPOINT_ADDRESS = "readerEndpointAddress";
   private static final String PARAM_DATABASE_NAME = "databaseName";
   private static final String PARAM_SECURITY_GROUP_ID = "securityGroupId";
   private static final String PARAM_SECRET_ARN = "secretArn";
   private static final String DATABASE_SECRET = "databaseSecret";
+  // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-rds-dbproxy.html#cfn-rds-dbproxy-enginefamily
+  private static final String PROXY_ENGINE_FAMILY_POSTGRESQL = "POSTGRESQL";
+  private static final String PROXY_ENGINE_FAMILY_MYSQL = "MYSQL";
+  // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-rds-dbproxytargetgroup.html#cfn-rds-dbproxytargetgroup-targetgroupname
+  private static final String PROXY_DEFAULT_TARGET_GROUP = "default";
+  // https://docs.aws.amazon.com/AmazonRDS/latest/AuroraUserGuide/aurora-serverless-v2.setting-capacity.html
+  private static final double SERVERLESS_V2_MIN_CAPACITY = 0.5;
+  private static final double SERVERLESS_V2_MAX_CAPACITY = 128;
+  private static final double SERVERLESS_V2_CAPACITY_INCREMENT = 0.5;
+  // https://docs.aws.amazon.com/AmazonRDS/latest/AuroraUserGuide/aurora-serverless-v2.requirements.html
+  private static final int SERVERLESS_V2_MIN_AURORA_POSTGRES_MAJOR_VERSION = 13;
+  private static final int SERVERLESS_V2_MIN_AURORA_POSTGRES_MINOR_VERSION = 6;
+  // https://docs.aws.amazon.com/AmazonRDS/latest/AuroraUserGuide/Concepts.DBInstanceClass.html#Concepts.DBInstanceClass.SupportAurora
+  // only the burstable classes differ between the engines, the rest are supported by both
+  private static final String BURSTABLE_INSTANCE_CLASS_PREFIX = "db.t";
+  private static final Map<String, Set<String>> AURORA_BURSTABLE_INSTANCE_CLASSES = Map.of(
+      InputParameters.ENGINE_AURORA_MYSQL, Set.of("db.t2.small", "db.t2.medium", "db.t3.small",
+                                                  "db.t3.medium", "db.t3.large", "db.t4g.medium",
+                                                  "db.t4g.large"),
+      InputParameters.ENGINE_AURORA_POSTGRES, Set.of("db.t3.medium", "db.t3.large",
+                                                     "db.t4g.medium", "db.t4g.large"));
 
   public static final String USERNAME_SECRET_HOLDER = "username";
   public static final String PASSWORD_SECRET_HOLDER = "password";
 
   private CfnSecurityGroup dbSecurityGroup;
   private Secret dbSecret;
+  private CfnDBCluster dbCluster;
   private CfnDBInstance dbInstance;
+  private CfnDBProxy dbProxy;
+  private List<CfnDBInstance> dbReadReplicas;
 
   private Database(Construct scope, String id) {
     super(scope, id);
@@ -103,11 +159,40 @@ public final class Database extends Construct {
     subnetGroupName = subnetGroup.getDbSubnetGroupName();
     var dbName = Util.dbSanitized(applicationEnvironment.prefixed("database"));
     var dbPassword = dbSecret.secretValueFromJson(PASSWORD_SECRET_HOLDER).toString();
-    var dbInstance = dbInstance(database, inParams, availabilityZones.get(0), subnetGroupName,
-                                dbName, username, dbPassword, secGroup.getAttrGroupId());
-    database.setDbInstance(dbInstance);
+    if (inParams.isAuroraEngine()) {
+      var dbCluster = dbCluster(database, inParams, subnetGroupName, dbName, username, dbPassword,
+                                secGroup.getAttrGroupId());
+      database.setDbCluster(dbCluster);
+      database.setDbInstance(auroraDbInstance(database, inParams, "databaseInstance",
+                                              dbCluster, inParams.getInstanceClass(),
+                                              availabilityZones.get(0)));
+    } else if (inParams.isServerlessV2Enabled()) {
+      throw new IllegalArgumentException("Serverless v2 requires an Aurora engine");
+    } else {
+      database.setDbInstance(dbInstance(database, inParams, availabilityZones.get(0),
+                                        subnetGroupName, dbName, username, dbPassword,
+                                        secGroup.getAttrGroupId()));
+    }
+    var dbInstance = database.getDbInstance();
+    var dbCluster = database.getDbCluster();
+    database.setDbReadReplicas(dbReadReplicas(database, inParams, availabilityZones,
+                                              dbInstance, dbCluster, secGroup.getAttrGroupId()));
+
+    if (dbCluster != null) {
+      cfnSecretTargetAttachment(database, dbSecret.getSecretArn(), dbCluster.getRef(),
+                                TARGET_TYPE_AWS_RDS_DB_CLUSTER);
+    } else {
+      cfnSecretTargetAttachment(database, dbSecret.getSecretArn(), dbInstance.getRef(),
+                                TARGET_TYPE_AWS_RDS_DB_INSTANCE);
+    }
 
-    cfnSecretTargetAttachment(database, dbSecret.getSecretArn(), dbInstance.getRef());
+    if (inParams.isProxyEnabled()) {
+      var dbProxy = dbProxy(database, applicationEnvironment, inParams, dbSecret,
+                            secGroup.getAttrGroupId(), netOutParams.getIsolatedSubnets());
+      dbProxyTargetGroup(database, inParams, dbProxy, dbInstance, dbCluster,
+                         database.getDbReadReplicas());
+      database.setDbProxy(dbProxy);
+    }
 
     saveDatabaseInfoToParameterStore(database, applicationEnvironment);
     applicationEnvironment.tag(database);
@@ -184,25 +269,294 @@ public final class Database extends Construct {
                                 .build();
   }
 
+  private static CfnDBCluster dbCluster(Construct scope, InputParameters inParams,
+                                        String subnetGroupName, String dbName, String dbUsername,
+                                        String dbPassword, String securityGroupId) {
+    var serverlessV2 = inParams.isServerlessV2Enabled();
+    var minCapacity = inParams.getServerlessV2MinCapacity();
+    var maxCapacity = inParams.getServerlessV2MaxCapacity();
+    if (serverlessV2 && (minCapacity < SERVERLESS_V2_MIN_CAPACITY
+                         || maxCapacity > SERVERLESS_V2_MAX_CAPACITY
+                         || minCapacity > maxCapacity
+                         || minCapacity % SERVERLESS_V2_CAPACITY_INCREMENT != 0
+                         || maxCapacity % SERVERLESS_V2_CAPACITY_INCREMENT != 0)) {
+      throw new IllegalArgumentException(String.format(
+          "Serverless v2 capacity must satisfy %s <= min <= max <= %s ACUs, in %s increments",
+          SERVERLESS_V2_MIN_CAPACITY, SERVERLESS_V2_MAX_CAPACITY,
+          SERVERLESS_V2_CAPACITY_INCREMENT));
+    }
+    if (serverlessV2 && InputParameters.ENGINE_AURORA_POSTGRES.equals(inParams.getEngine())
+        && !isServerlessV2AuroraPostgresVersion(inParams.getEngineVersion())) {
+      throw new IllegalArgumentException(String.format(
+          "Serverless v2 requires Aurora PostgreSQL %s.%s or higher",
+          SERVERLESS_V2_MIN_AURORA_POSTGRES_MAJOR_VERSION,
+          SERVERLESS_V2_MIN_AURORA_POSTGRES_MINOR_VERSION));
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-rds-dbcluster.html
+    var dbCluster = CfnDBCluster.Builder
+        .create(scope, "databaseCluster")
+        .engine(inParams.getEngine())
+        .engineVersion(inParams.getEngineVersion())
+        .engineMode("provisioned")
+        .databaseName(dbName)
+        .dbSubnetGroupName(subnetGroupName)
+        .masterUsername(dbUsername)
+        .masterUserPassword(dbPassword)
+        .vpcSecurityGroupIds(List.of(securityGroupId))
+        .port(inParams.getPortNumber())
+        .deletionProtection(inParams.isProtectedAgainstDeletion())
+        .storageEncrypted(inParams.isEncryptionEnabled())
+        .backupRetentionPeriod(inParams.getBackUpRetentionPeriodInDays())
+        .build();
+    if (serverlessV2) {
+      // not yet supported by CfnDBCluster in this CDK version
+      // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-rds-dbcluster-serverlessv2scalingconfiguration.html
+      dbCluster.addPropertyOverride("ServerlessV2ScalingConfiguration",
+                                    Map.of("MinCapacity", minCapacity,
+                                           "MaxCapacity", maxCapacity));
+    }
+    return dbCluster;
+  }
+
+  static boolean isServerlessV2AuroraPostgresVersion(String engineVersion) {
+    if (engineVersion == null) {
+      // the default version of the engine is chosen by AWS
+      return true;
+    }
+    var versionParts = engineVersion.split("\\.");
+    try {
+      var major = Integer.parseInt(versionParts[0]);
+      var minor = versionParts.length > 1 ? Integer.parseInt(versionParts[1]) : 0;
+      return major > SERVERLESS_V2_MIN_AURORA_POSTGRES_MAJOR_VERSION
+             || (major == SERVERLESS_V2_MIN_AURORA_POSTGRES_MAJOR_VERSION
+                 && minor >= SERVERLESS_V2_MIN_AURORA_POSTGRES_MINOR_VERSION);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid engine version " + engineVersion, e);
+    }
+  }
+
+  static boolean isSupportedAuroraInstanceClass(String engine, String instanceClass) {
+    var burstableInstanceClasses = AURORA_BURSTABLE_INSTANCE_CLASSES.get(engine);
+    return burstableInstanceClasses == null
+           || !instanceClass.startsWith(BURSTABLE_INSTANCE_CLASS_PREFIX)
+           || burstableInstanceClasses.contains(instanceClass);
+  }
+
+  private static CfnDBInstance auroraDbInstance(Construct scope, InputParameters inParams,
+                                                String id, CfnDBCluster dbCluster,
+                                                String instanceClass, String availabilityZone) {
+    if (!inParams.isServerlessV2Enabled()
+        && !isSupportedAuroraInstanceClass(inParams.getEngine(), instanceClass)) {
+      throw new IllegalArgumentException(String.format("%s doesn't support the instance class %s",
+                                                       inParams.getEngine(), instanceClass));
+    }
+    // the storage, credentials and network settings are inherited from the cluster
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-rds-database-instance.html#cfn-rds-dbinstance-dbclusteridentifier
+    return CfnDBInstance.Builder
+        .create(scope, id)
+        .dbClusterIdentifier(dbCluster.getRef())
+        .engine(inParams.getEngine())
+        .dbInstanceClass(inParams.isServerlessV2Enabled()
+                         ? InputParameters.SERVERLESS_V2_INSTANCE_CLASS
+                         : instanceClass)
+        .availabilityZone(availabilityZone)
+        .publiclyAccessible(inParams.isPubliclyAccessible())
+        .autoMinorVersionUpgrade(inParams.isMinorVersionAutoUpgradeEnabled())
+        .enablePerformanceInsights(inParams.isPerformanceInsightsEnabled())
+        .build();
+  }
+
+  private static List<CfnDBInstance> dbReadReplicas(Construct scope, InputParameters inParams,
+                                                    List<String> availabilityZones,
+                                                    CfnDBInstance dbInstance,
+                                                    CfnDBCluster dbCluster,
+                                                    String securityGroupId) {
+    var readReplicas = inParams.getReadReplicas();
+    if (readReplicas < 0) {
+      throw new IllegalArgumentException("The number of read replicas must not be negative");
+    }
+    if (readReplicas == 0) {
+      return List.of();
+    }
+    // https://docs.aws.amazon.com/AmazonRDS/latest/UserGuide/USER_ReadRepl.html#USER_ReadRepl.Create
+    var backUpRetentionPeriod = inParams.getBackUpRetentionPeriodInDays();
+    if (dbCluster == null
+        && (backUpRetentionPeriod == null || backUpRetentionPeriod.intValue() < 1)) {
+      throw new IllegalArgumentException("Read replicas require the automatic backups to be "
+                                         + "enabled (a back up retention period of 1 day at "
+                                         + "least)");
+    }
+    // the primary instance is placed in the first availability zone
+    var otherAvailabilityZones = availabilityZones.subList(1, availabilityZones.size());
+    var otherAvailabilityZonesPlacement = inParams.isReadReplicasInOtherAvailabilityZones();
+    if (otherAvailabilityZonesPlacement && otherAvailabilityZones.isEmpty()) {
+      throw new IllegalArgumentException("No availability zones in network other than the one of "
+                                         + "the primary DB instance to place the read replicas");
+    }
+    var instanceClass = Objects.requireNonNullElse(inParams.getReadReplicaInstanceClass(),
+                                                   inParams.getInstanceClass());
+
+    var replicas = new ArrayList<CfnDBInstance>(readReplicas);
+    for (var i = 0; i < readReplicas; i++) {
+      var id = "databaseReadReplica" + (i + 1);
+      var availabilityZone = otherAvailabilityZonesPlacement
+                             ? otherAvailabilityZones.get(i % otherAvailabilityZones.size())
+                             : null;
+      if (dbCluster != null) {
+        // Aurora replicas are reader instances sharing the cluster storage
+        replicas.add(auroraDbInstance(scope, inParams, id, dbCluster, instanceClass,
+                                      availabilityZone));
+        continue;
+      }
+      // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-rds-database-instance.html#cfn-rds-dbinstance-sourcedbinstanceidentifier
+      var replica = CfnDBInstance.Builder
+          .create(scope, id)
+          .sourceDbInstanceIdentifier(dbInstance.getRef())
+          .dbInstanceClass(instanceClass)
+          .availabilityZone(availabilityZone)
+          .publiclyAccessible(inParams.isPubliclyAccessible())
+          .vpcSecurityGroups(List.of(securityGroupId))
+          .deletionProtection(inParams.isProtectedAgainstDeletion())
+          .autoMinorVersionUpgrade(inParams.isMinorVersionAutoUpgradeEnabled())
+          .enablePerformanceInsights(inParams.isPerformanceInsightsEnabled())
+          .port(inParams.getPort())
+          .storageType(inParams.getStorageType().name())
+          .build();
+      replicas.add(replica);
+    }
+    return replicas;
+  }
+
   private static CfnSecretTargetAttachment cfnSecretTargetAttachment(Construct scope,
                                                                      String dbSecretArn,
-                                                                     String dbRef) {
+                                                                     String dbRef,
+                                                                     String targetType) {
     // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-secretsmanager-secrettargetattachment.html
     return CfnSecretTargetAttachment.Builder.create(scope, "databaseSecretTargetAttachment")
                                             .secretId(dbSecretArn)
                                             .targetId(dbRef)
-                                            .targetType(TARGET_TYPE_AWS_RDS_DB_INSTANCE)
+                                            .targetType(targetType)
                                             .build();
   }
 
+  private static CfnDBProxy dbProxy(Construct scope, ApplicationEnvironment appEnv,
+                                    InputParameters inParams, Secret dbSecret,
+                                    String securityGroupId, List<String> subnetIds) {
+    // the proxy reaches the DB instance through the same security group the clients use
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ec2-security-group-ingress.html
+    CfnSecurityGroupIngress.Builder.create(scope, "databaseIngressFromProxy")
+                                   .sourceSecurityGroupId(securityGroupId)
+                                   .groupId(securityGroupId)
+                                   .ipProtocol("tcp")
+                                   .fromPort(inParams.getPortNumber())
+                                   .toPort(inParams.getPortNumber())
+                                   .build();
+
+    var proxyRole = Role.Builder.create(scope, "databaseProxyRole")
+                                .assumedBy(ServicePrincipal.Builder.create("rds.amazonaws.com")
+                                                                   .build())
+                                .path("/")
+                                .build();
+    dbSecret.grantRead(proxyRole);
+
+    var auth = CfnDBProxy.AuthFormatProperty.builder()
+                                            .authScheme("SECRETS")
+                                            .secretArn(dbSecret.getSecretArn())
+                                            .iamAuth("DISABLED")
+                                            .build();
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-rds-dbproxy.html
+    return CfnDBProxy.Builder.create(scope, "databaseProxy")
+                             .dbProxyName(Util.sanitize(appEnv.prefixed("database-proxy")))
+                             .engineFamily(proxyEngineFamily(inParams.getEngine()))
+                             .auth(List.of(auth))
+                             .roleArn(proxyRole.getRoleArn())
+                             .vpcSubnetIds(subnetIds)
+                             .vpcSecurityGroupIds(List.of(securityGroupId))
+                             .requireTls(inParams.isProxyTlsRequired())
+                             .build();
+  }
+
+  static String proxyEngineFamily(String engine) {
+    if (engine == null) {
+      throw new IllegalArgumentException("No engine to determine the proxy engine family from");
+    }
+    // https://docs.aws.amazon.com/AmazonRDS/latest/UserGuide/rds-proxy.html#rds-proxy.limitations
+    return switch (engine) {
+      case InputParameters.ENGINE_POSTGRES, InputParameters.ENGINE_AURORA_POSTGRES
+          -> PROXY_ENGINE_FAMILY_POSTGRESQL;
+      case "mysql", "mariadb", InputParameters.ENGINE_AURORA_MYSQL -> PROXY_ENGINE_FAMILY_MYSQL;
+      default -> throw new IllegalArgumentException("RDS Proxy doesn't support the engine "
+                                                    + engine);
+    };
+  }
+
+  private static CfnDBProxyTargetGroup dbProxyTargetGroup(Construct scope,
+                                                          InputParameters inParams,
+                                                          CfnDBProxy dbProxy,
+                                                          CfnDBInstance dbInstance,
+                                                          CfnDBCluster dbCluster,
+                                                          List<CfnDBInstance> dbReadReplicas) {
+    var borrowTimeout = inParams.getProxyConnectionBorrowTimeoutSeconds();
+    if (borrowTimeout < 0 || borrowTimeout > 3600) {
+      throw new IllegalArgumentException("Proxy connection borrow timeout must be between 0 and "
+                                         + "3600 seconds");
+    }
+    var maxConnectionsPercent = inParams.getProxyMaxConnectionsPercent();
+    if (maxConnectionsPercent < 1 || maxConnectionsPercent > 100) {
+      throw new IllegalArgumentException("Proxy max connections percent must be between 1 and 100");
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-rds-dbproxytargetgroup-connectionpoolconfigurationinfoformat.html
+    var poolConfig = CfnDBProxyTargetGroup.ConnectionPoolConfigurationInfoFormatProperty
+        .builder()
+        .connectionBorrowTimeout(borrowTimeout)
+        .maxConnectionsPercent(maxConnectionsPercent)
+        .build();
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-rds-dbproxytargetgroup.html
+    var targetGroup = CfnDBProxyTargetGroup.Builder.create(scope, "databaseProxyTargetGroup")
+                                                   .dbProxyName(dbProxy.getRef())
+                                                   .targetGroupName(PROXY_DEFAULT_TARGET_GROUP)
+                                                   .connectionPoolConfigurationInfo(poolConfig);
+    if (dbCluster == null) {
+      return targetGroup.dbInstanceIdentifiers(List.of(dbInstance.getRef())).build();
+    }
+    var clusterTargetGroup = targetGroup.dbClusterIdentifiers(List.of(dbCluster.getRef())).build();
+    // the cluster is available before its instances, which the proxy needs to register it
+    clusterTargetGroup.addDependsOn(dbInstance);
+    dbReadReplicas.forEach(clusterTargetGroup::addDependsOn);
+    return clusterTargetGroup;
+  }
+
   private static void saveDatabaseInfoToParameterStore(Database database,
                                                        ApplicationEnvironment appEnvironment) {
-    createStringParameter(database, appEnvironment, PARAM_ENDPOINT_ADDRESS,
-                          database.getDbInstance().getAttrEndpointAddress());
+    // in an Aurora cluster the clients connect to the cluster endpoints, not to the instances
+    var dbCluster = database.getDbCluster();
+    var dbInstance = database.getDbInstance();
+    var endpointAddress = dbCluster != null
+                          ? dbCluster.getAttrEndpointAddress()
+                          : dbInstance.getAttrEndpointAddress();
+    createStringParameter(database, appEnvironment, PARAM_ENDPOINT_ADDRESS, endpointAddress);
+    // without a proxy, the clients connect to the DB directly
+    var dbProxy = database.getDbProxy();
+    createStringParameter(database, appEnvironment, PARAM_PROXY_ENDPOINT_ADDRESS,
+                          dbProxy != null ? dbProxy.getAttrEndpoint() : endpointAddress);
+    createStringParameter(database, appEnvironment, PARAM_WRITER_ENDPOINT_ADDRESS,
+                          endpointAddress);
+    // without a cluster, there's no endpoint balancing the reads, which go to the DB instance
+    createStringParameter(database, appEnvironment, PARAM_CLUSTER_READER_ENDPOINT,
+                          dbCluster != null
+                          ? dbCluster.getAttrReadEndpointAddress()
+                          : endpointAddress);
+    var readReplicas = database.getDbReadReplicas();
+    for (var i = 0; i < readReplicas.size(); i++) {
+      createStringParameter(database, appEnvironment, readerEndpointAddressId(i),
+                            readReplicas.get(i).getAttrEndpointAddress());
+    }
     createStringParameter(database, appEnvironment, PARAM_ENDPOINT_PORT,
-                          database.getDbInstance().getAttrEndpointPort());
+                          dbCluster != null
+                          ? dbCluster.getAttrEndpointPort()
+                          : dbInstance.getAttrEndpointPort());
     createStringParameter(database, appEnvironment, PARAM_DATABASE_NAME,
-                          database.getDbInstance().getDbName());
+                          dbCluster != null ? dbCluster.getDatabaseName() : dbInstance.getDbName());
     createStringParameter(database, appEnvironment, PARAM_SECURITY_GROUP_ID,
                           database.getDbSecurityGroup().getAttrGroupId());
     createStringParameter(database, appEnvironment, PARAM_SECRET_ARN,
@@ -217,6 +571,10 @@ public final class Database extends Construct {
                            .build();
   }
 
+  private static String readerEndpointAddressId(int readReplicaIndex) {
+    return joinedString(DASH_JOINER, PARAM_READER_ENDPOINT_ADDRESS, readReplicaIndex);
+  }
+
   private static String parameterName(ApplicationEnvironment appEnvironment, String parameterName) {
     return joinedString(DASH_JOINER, appEnvironment.getEnvironmentName(),
                         appEnvironment.getApplicationName(), CONSTRUCT_NAME, parameterName);
@@ -242,6 +600,30 @@ public final class Database extends Construct {
     return getParameter(scope, appEnvironment, PARAM_ENDPOINT_ADDRESS);
   }
 
+  public static String getDbProxyEndpointAddress(Construct scope,
+                                                 ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_PROXY_ENDPOINT_ADDRESS);
+  }
+
+  public static List<String> getDbReaderEndpointAddresses(Construct scope,
+                                                          ApplicationEnvironment appEnvironment,
+                                                          int totalReadReplicas) {
+    return IntStream.range(0, totalReadReplicas)
+                    .mapToObj(i -> getParameter(scope, appEnvironment, readerEndpointAddressId(i)))
+                    .filter(Objects::nonNull)
+                    .toList();
+  }
+
+  public static String getDbWriterEndpointAddress(Construct scope,
+                                                  ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_WRITER_ENDPOINT_ADDRESS);
+  }
+
+  public static String getDbClusterReaderEndpointAddress(Construct scope,
+                                                         ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_CLUSTER_READER_ENDPOINT);
+  }
+
   public static String getDbEndpointPort(Construct scope,
                                          ApplicationEnvironment appEnvironment) {
     return getParameter(scope, appEnvironment, PARAM_ENDPOINT_PORT);
@@ -273,11 +655,40 @@ public final class Database extends Construct {
    */
   public static OutputParameters outputParametersFrom(Construct scope,
                                                       ApplicationEnvironment appEnvironment) {
+    return outputParametersFrom(scope, appEnvironment, 0);
+  }
+
+  /**
+   * Returns a {@link Database} output parameters generated by a previously constructed
+   * {@link Database} instance with read replicas.
+   *
+   * @param scope             Scope construct to be provided to the SSM to retrieve the
+   *                          parameters.
+   * @param appEnvironment    {@link ApplicationEnvironment} to determine the application and
+   *                          environment to which the output parameters are associated to.
+   * @param totalReadReplicas Number of read replicas the {@link Database} was created with.
+   *
+   * @return An {@link OutputParameters} instance containing the parameters from the SSM.
+   */
+  public static OutputParameters outputParametersFrom(Construct scope,
+                                                      ApplicationEnvironment appEnvironment,
+                                                      int totalReadReplicas) {
+    if (totalReadReplicas < 0) {
+      throw new IllegalArgumentException("The number of read replicas must not be negative");
+    }
     return new OutputParameters(getDbEndpointAddress(scope, appEnvironment),
+                                // read on demand, so the stacks not using them deploy on a
+                                // database created without them
+                                memoized(() -> getDbProxyEndpointAddress(scope, appEnvironment)),
+                                memoized(() -> getDbWriterEndpointAddress(scope, appEnvironment)),
+                                memoized(() -> getDbClusterReaderEndpointAddress(scope,
+                                                                                 appEnvironment)),
                                 getDbEndpointPort(scope, appEnvironment),
                                 getDbName(scope, appEnvironment),
                                 getDbSecretArn(scope, appEnvironment),
-                                getDbSecurityGroupId(scope, appEnvironment));
+                                getDbSecurityGroupId(scope, appEnvironment),
+                                getDbReaderEndpointAddresses(scope, appEnvironment,
+                                                             totalReadReplicas));
   }
   // endregion
 
@@ -289,9 +700,17 @@ public final class Database extends Construct {
   public static final class InputParameters {
     // see https://docs.aws.amazon.com/AmazonRDS/latest/UserGuide/Concepts.DBInstanceClass.html#Concepts.DBInstanceClass.Support
     public static final String ENGINE_POSTGRES = "postgres";
+    // see https://docs.aws.amazon.com/AmazonRDS/latest/AuroraUserGuide/Aurora.AuroraPostgreSQL.html
+    public static final String ENGINE_AURORA_POSTGRES = "aurora-postgresql";
+    // see https://docs.aws.amazon.com/AmazonRDS/latest/AuroraUserGuide/Aurora.AuroraMySQL.html
+    public static final String ENGINE_AURORA_MYSQL = "aurora-mysql";
+    // see https://docs.aws.amazon.com/AmazonRDS/latest/AuroraUserGuide/aurora-serverless-v2.requirements.html
+    public static final String SERVERLESS_V2_INSTANCE_CLASS = "db.serverless";
     // see https://docs.aws.amazon.com/AmazonRDS/latest/UserGuide/CHAP_PostgreSQL.html#PostgreSQL.Concepts.General.DBVersions
     public static final String DEFAULT_ENGINE_VERSION = "12.8";
     public static final String DEFAULT_INSTANCE_CLASS = "db.t2.micro";
+    public static final String DEFAULT_AURORA_ENGINE_VERSION = "13.7";
+    public static final String DEFAULT_AURORA_INSTANCE_CLASS = "db.t3.medium";
     // see https://docs.aws.amazon.com/AmazonRDS/latest/UserGuide/CHAP_Storage.html
     public static final StorageType SSD = StorageType.GP2;
     public static final StorageType MAGNETIC = StorageType.STANDARD;
@@ -302,16 +721,21 @@ public final class Database extends Construct {
     @lombok.Builder.Default
     private int storageCapacityInGB = 10;
     /**
-     * RDB instance type.
+     * RDB instance type. An Aurora engine requires an instance type supported by Aurora (no
+     * {@code db.t2}, micro nor small ones). If not set, {@link #DEFAULT_INSTANCE_CLASS} is used,
+     * or {@link #DEFAULT_AURORA_INSTANCE_CLASS} with an Aurora engine.
      *
      * @see <a href="https://aws.amazon.com/rds/instance-types/">RDB Instance Types</a>
      */
-    @lombok.Builder.Default
-    private String instanceClass = DEFAULT_INSTANCE_CLASS;
+    private String instanceClass;
     @lombok.Builder.Default
     private String engine = ENGINE_POSTGRES;
-    @lombok.Builder.Default
-    private String engineVersion = DEFAULT_ENGINE_VERSION;
+    /**
+     * Version of the engine. Serverless v2 requires Aurora PostgreSQL 13.6 or higher. If not set,
+     * {@link #DEFAULT_ENGINE_VERSION} is used, or {@link #DEFAULT_AURORA_ENGINE_VERSION} with an
+     * Aurora engine.
+     */
+    private String engineVersion;
     private boolean publiclyAccessible;
     private boolean protectedAgainstDeletion;
     @lombok.Builder.Default
@@ -328,6 +752,78 @@ public final class Database extends Construct {
     // https://docs.aws.amazon.com/AmazonRDS/latest/UserGuide/USER_WorkingWithAutomatedBackups.html
     @lombok.Builder.Default
     private boolean deleteAutomatedBackupsEnabled = true;
+    /**
+     * Whether an RDS Proxy pools the connections to the DB instance. Its endpoint is published as
+     * the proxy endpoint address, which is the DB instance endpoint address otherwise.
+     */
+    private boolean proxyEnabled;
+    /**
+     * Seconds the proxy waits for a connection to become available in the pool before returning
+     * an error to the client.
+     */
+    @lombok.Builder.Default
+    private int proxyConnectionBorrowTimeoutSeconds = 120;
+    /**
+     * Maximum size of the connection pool, as a percentage of the DB instance
+     * {@code max_connections}.
+     */
+    @lombok.Builder.Default
+    private int proxyMaxConnectionsPercent = 100;
+    private boolean proxyTlsRequired;
+    /**
+     * Number of read replicas of the DB instance. They require the automatic backups to be
+     * enabled. With an Aurora engine, they're the reader instances of the cluster.
+     */
+    private int readReplicas;
+    /**
+     * Whether the read replicas are spread across the {@link Network} availability zones other than
+     * the one of the DB instance. If not, the availability zone of each replica is chosen by AWS.
+     */
+    private boolean readReplicasInOtherAvailabilityZones;
+    /**
+     * RDB instance type of the read replicas. If not set, the one of the DB instance is used.
+     */
+    private String readReplicaInstanceClass;
+    /**
+     * Whether the Aurora cluster instances scale their capacity automatically (Serverless v2),
+     * between {@link #serverlessV2MinCapacity} and {@link #serverlessV2MaxCapacity}. It requires
+     * an Aurora engine and an engine version supporting it.
+     */
+    private boolean serverlessV2Enabled;
+    /**
+     * Minimum Aurora capacity units (ACUs) of each Serverless v2 instance, in 0.5 increments.
+     */
+    @lombok.Builder.Default
+    private double serverlessV2MinCapacity = 0.5;
+    /**
+     * Maximum Aurora capacity units (ACUs) of each Serverless v2 instance, in 0.5 increments.
+     */
+    @lombok.Builder.Default
+    private double serverlessV2MaxCapacity = 1;
+
+    /**
+     * Whether the engine is an Aurora one, so an Aurora cluster is created instead of a single DB
+     * instance.
+     *
+     * @return {@code true} if the engine is an Aurora one, {@code false} otherwise.
+     */
+    boolean isAuroraEngine() {
+      return engine != null && engine.startsWith("aurora");
+    }
+
+    String getInstanceClass() {
+      if (instanceClass != null) {
+        return instanceClass;
+      }
+      return isAuroraEngine() ? DEFAULT_AURORA_INSTANCE_CLASS : DEFAULT_INSTANCE_CLASS;
+    }
+
+    String getEngineVersion() {
+      if (engineVersion != null) {
+        return engineVersion;
+      }
+      return isAuroraEngine() ? DEFAULT_AURORA_ENGINE_VERSION : DEFAULT_ENGINE_VERSION;
+    }
 
     /**
      * Gets the initial storage capacity of the DB.
@@ -353,9 +849,31 @@ public final class Database extends Construct {
   @EqualsAndHashCode
   public static final class OutputParameters {
     private final String endpointAddress;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private final Supplier<String> proxyEndpointAddress;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private final Supplier<String> writerEndpointAddress;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private final Supplier<String> clusterReaderEndpointAddress;
     private final String endpointPort;
     private final String dbName;
     private final String dbSecretArn;
     private final String dbSecurityGroupId;
+    private final List<String> readerEndpointAddresses;
+
+    public String getProxyEndpointAddress() {
+      return proxyEndpointAddress.get();
+    }
+
+    public String getWriterEndpointAddress() {
+      return writerEndpointAddress.get();
+    }
+
+    public String getClusterReaderEndpointAddress() {
+      return clusterReaderEndpointAddress.get();
+    }
   }
 }
@@ -73,12 +73,8 @@ public final class DomainStack extends Stack {
         .fromApplicationLoadBalancerAttributes(domainStack, "AppLoadBalancer", albAttrs);
 
     if (Network.isArnNotNull(networkParams.getSslCertificateArn())) {
-      DnsValidatedCertificate.Builder.create(domainStack, "AppCertificate")
-                                     .hostedZone(hostedZone)
-                                     .region(awsEnvironment.getRegion())
-                                     .domainName(applicationDomainName)
-                                     .subjectAlternativeNames(List.of(applicationDomainName))
-                                     .build();
+      certificate(domainStack, "AppCertificate", hostedZone, awsEnvironment.getRegion(),
+                  applicationDomainName);
     }
 
     ARecord.Builder.create(domainStack, "ARecord")
@@ -91,7 +87,17 @@ public final class DomainStack extends Stack {
     return domainStack;
   }
 
-  private static IHostedZone hostedZone(Construct scope, String hostedZoneDomainName) {
+  static DnsValidatedCertificate certificate(Construct scope, String id, IHostedZone hostedZone,
+                                             String region, String domainName) {
+    return DnsValidatedCertificate.Builder.create(scope, id)
+                                          .hostedZone(hostedZone)
+                                          .region(region)
+                                          .domainName(domainName)
+                                          .subjectAlternativeNames(List.of(domainName))
+                                          .build();
+  }
+
+  static IHostedZone hostedZone(Construct scope, String hostedZoneDomainName) {
     var hostedZoneProviderProps = HostedZoneProviderProps.builder()
                                                          .domainName(hostedZoneDomainName)
                                                          .build();
@@ -3,10 +3,17 @@ package org.wcdevs.blog.cdk;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import software.amazon.awscdk.Aws;
 import software.amazon.awscdk.CfnCondition;
 import software.amazon.awscdk.Environment;
 import software.amazon.awscdk.Fn;
 import software.amazon.awscdk.RemovalPolicy;
+import software.amazon.awscdk.services.applicationautoscaling.CfnScalableTarget;
+import software.amazon.awscdk.services.applicationautoscaling.CfnScalingPolicy;
+import software.amazon.awscdk.services.cloudwatch.CfnAlarm;
+import software.amazon.awscdk.services.codedeploy.CfnApplication;
+import software.amazon.awscdk.services.codedeploy.CfnDeploymentConfig;
+import software.amazon.awscdk.services.codedeploy.CfnDeploymentGroup;
 import software.amazon.awscdk.services.ec2.CfnSecurityGroup;
 import software.amazon.awscdk.services.ec2.CfnSecurityGroupIngress;
 import software.amazon.awscdk.services.ecr.Repository;
@@ -17,6 +24,7 @@ import software.amazon.awscdk.services.elasticloadbalancingv2.CfnTargetGroup;
 import software.amazon.awscdk.services.iam.Effect;
 import software.amazon.awscdk.services.iam.IGrantable;
 import software.amazon.awscdk.services.iam.IRole;
+import software.amazon.awscdk.services.iam.ManagedPolicy;
 import software.amazon.awscdk.services.iam.PolicyDocument;
 import software.amazon.awscdk.services.iam.PolicyStatement;
 import software.amazon.awscdk.services.iam.Role;
@@ -26,25 +34,32 @@ import software.amazon.awscdk.services.logs.LogGroup;
 import software.amazon.awscdk.services.logs.RetentionDays;
 import software.constructs.Construct;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static org.wcdevs.blog.cdk.Util.DASH_JOINER;
+import static org.wcdevs.blog.cdk.Util.joinedString;
 
 /**
  * Create an ECS service within and ECS cluster that is provided by a Network construct. For that:
  *
  * <ul>
  *   <li>
- *     It defines an ECS task that hosts a given Docker image.
+ *     It defines an ECS task that hosts a given Docker image, and optionally some sidecar
+ *     containers.
  *   </li>
  *   <li>
  *     It adds a Service to the ECS cluster previously deployed in a Network construct and adds the
@@ -61,6 +76,14 @@ import static java.util.Collections.emptyMap;
  *   <li>
  *     It creates a log group so the application can send logs to CloudWatch.
  *   </li>
+ *   <li>
+ *     Optionally, it creates a second target group and a CodeDeploy deployment group to deploy
+ *     new versions with blue/green deployments that shift the traffic in steps.
+ *   </li>
+ *   <li>
+ *     Optionally, it registers the ECS service as an Application Auto Scaling scalable target and
+ *     attaches target-tracking scaling policies and scheduled capacity actions to it.
+ *   </li>
  * </ul>
  *
  * @see ElasticContainerService#newInstance(Construct, String, Environment, ApplicationEnvironment, InputParameters, Network.OutputParameters)
@@ -77,11 +100,36 @@ public final class ElasticContainerService extends Construct {
   private static final String TARGET_TYPE_LAMBDA = "lambda";
   private static final String TARGET_TYPE_ALB = "alb";
 
+  // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/fargate-capacity-providers.html
+  public static final String CAPACITY_PROVIDER_FARGATE = "FARGATE";
+  public static final String CAPACITY_PROVIDER_FARGATE_SPOT = "FARGATE_SPOT";
+
+  // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-runtimeplatform.html
+  public static final String CPU_ARCHITECTURE_X86_64 = "X86_64";
+  public static final String CPU_ARCHITECTURE_ARM64 = "ARM64";
+  public static final String OPERATING_SYSTEM_FAMILY_LINUX = "LINUX";
+
+  // https://docs.aws.amazon.com/AmazonECS/latest/APIReference/API_ContainerDependency.html
+  public static final String CONTAINER_CONDITION_START = "START";
+  public static final String CONTAINER_CONDITION_COMPLETE = "COMPLETE";
+  public static final String CONTAINER_CONDITION_SUCCESS = "SUCCESS";
+  public static final String CONTAINER_CONDITION_HEALTHY = "HEALTHY";
+
   public static final String LOG_DRIVER_AWS_LOGS = "awslogs";
   public static final String LOG_DRIVER_SPLUNK = "splunk";
   public static final String LOG_DRIVER_AWS_FIRE_LENS = "awsfirelens";
+  private static final String AWS_LOGS_MODE_NON_BLOCKING = "non-blocking";
+  private static final String FIRE_LENS_TYPE_FLUENT_BIT = "fluentbit";
+  private static final String FIRE_LENS_CONFIG_FILE_TYPE_FILE = "file";
 
   private static final String ASSIGN_PUBLIC_IP_ENABLED = "ENABLED";
+  private static final String ASSIGN_PUBLIC_IP_DISABLED = "DISABLED";
+
+  private static final String JAVA_TOOL_OPTIONS = "JAVA_TOOL_OPTIONS";
+  private static final String LOG_ROUTER_NAME = "log-router";
+
+  private static final String DNS_RECORD_TYPE_A = "A";
+  private static final String DNS_ROUTING_POLICY_MULTIVALUE = "MULTIVALUE";
 
   private static final String STICKY_SESSIONS_ENABLED = "stickiness.enabled";
   private static final String STICKY_SESSIONS_TYPE = "stickiness.type";
@@ -90,6 +138,17 @@ public final class ElasticContainerService extends Construct {
   private static final String STICKY_SESSIONS_TYPE_LB_COOKIE = "lb_cookie";
   private static final String STRING_TRUE = "true";
 
+  private static final String SLOW_START_DURATION = "slow_start.duration_seconds";
+  private static final String DEREGISTRATION_DELAY_TIMEOUT = "deregistration_delay.timeout_seconds";
+  private static final String LOAD_BALANCING_ALGORITHM_TYPE = "load_balancing.algorithm.type";
+  public static final String LOAD_BALANCING_ALGORITHM_ROUND_ROBIN = "round_robin";
+  public static final String LOAD_BALANCING_ALGORITHM_LEAST_OUTSTANDING_REQUESTS
+      = "least_outstanding_requests";
+  // https://docs.aws.amazon.com/elasticloadbalancing/latest/application/load-balancer-target-groups.html#target-group-protocol-version
+  public static final String PROTOCOL_VERSION_HTTP1 = "HTTP1";
+  public static final String PROTOCOL_VERSION_HTTP2 = "HTTP2";
+  public static final String PROTOCOL_VERSION_GRPC = "GRPC";
+
   private static final String LISTENER_RULE_ACTION_TYPE_FORWARD = "forward";
   private static final String LISTENER_RULE_ACTION_TYPE_FIXED_RESPONSE = "fixed-response";
   private static final String LISTENER_RULE_ACTION_TYPE_REDIRECT = "redirect";
@@ -97,8 +156,59 @@ public final class ElasticContainerService extends Construct {
   private static final String LISTENER_RULE_CONDITION_HTTP_REQ_METHOD = "http-request-method";
   private static final String LISTENER_RULE_CONDITION_HOST_HEADER = "host-header";
   private static final String LISTENER_RULE_CONDITION_SOURCE_IP = "source-ip";
-  private static final int HTTP_LISTENER_RULE_FORWARD_PATH_PRIORITY = 3;
-  private static final int HTTPS_LISTENER_RULE_FORWARD_PATH_PRIORITY = 5;
+  private static final String LISTENER_RULE_ANY_PATH = "*";
+  private static final int LISTENER_RULE_MIN_PRIORITY = 1;
+  private static final int LISTENER_RULE_MAX_PRIORITY = 50_000;
+  // priority 1 is taken by the HTTP to HTTPS redirect rule of the network
+  private static final int LISTENER_RULE_RESPONSE_MIN_PRIORITY = 2;
+  // rules answered by the load balancer are evaluated before the ones forwarding to the services
+  private static final int LISTENER_RULE_FORWARD_MIN_PRIORITY = 5_001;
+  // rules matching any request are evaluated after the ones matching specific paths or hosts
+  private static final int LISTENER_RULE_CATCH_ALL_MIN_PRIORITY = 45_001;
+  private static final String FIXED_RESPONSE_CONTENT_TYPE_TEXT_PLAIN = "text/plain";
+  public static final String REDIRECT_STATUS_CODE_PERMANENT = "HTTP_301";
+  public static final String REDIRECT_STATUS_CODE_TEMPORARY = "HTTP_302";
+
+  private static final String DEPLOYMENT_CONTROLLER_CODE_DEPLOY = "CODE_DEPLOY";
+  private static final String CODE_DEPLOY_COMPUTE_PLATFORM_ECS = "ECS";
+  private static final String CODE_DEPLOY_AMAZONAWS_PRINCIPAL = "codedeploy.amazonaws.com";
+  private static final String CODE_DEPLOY_ECS_MANAGED_POLICY = "AWSCodeDeployRoleForECS";
+  private static final String CODE_DEPLOY_ECS_ALL_AT_ONCE = "CodeDeployDefault.ECSAllAtOnce";
+  private static final String CODE_DEPLOY_BLUE_GREEN = "BLUE_GREEN";
+  private static final String CODE_DEPLOY_WITH_TRAFFIC_CONTROL = "WITH_TRAFFIC_CONTROL";
+  private static final String CODE_DEPLOY_CONTINUE_DEPLOYMENT = "CONTINUE_DEPLOYMENT";
+  private static final String CODE_DEPLOY_TERMINATE = "TERMINATE";
+  private static final String CODE_DEPLOY_EVENT_DEPLOYMENT_FAILURE = "DEPLOYMENT_FAILURE";
+  private static final String CODE_DEPLOY_EVENT_DEPLOYMENT_STOP_ON_ALARM
+      = "DEPLOYMENT_STOP_ON_ALARM";
+  public static final String TRAFFIC_ROUTING_CANARY = "TimeBasedCanary";
+  public static final String TRAFFIC_ROUTING_LINEAR = "TimeBasedLinear";
+  public static final String TRAFFIC_ROUTING_ALL_AT_ONCE = "AllAtOnce";
+  private static final int BLUE_TARGET_GROUP_WEIGHT = 100;
+  private static final int GREEN_TARGET_GROUP_WEIGHT = 0;
+
+  private static final String ALB_METRICS_NAMESPACE = "AWS/ApplicationELB";
+  private static final String ALB_METRIC_TARGET_5XX_COUNT = "HTTPCode_Target_5XX_Count";
+  private static final String ALB_METRIC_TARGET_RESPONSE_TIME = "TargetResponseTime";
+  private static final String ALB_DIMENSION_TARGET_GROUP = "TargetGroup";
+  private static final String ALB_DIMENSION_LOAD_BALANCER = "LoadBalancer";
+  private static final String ALARM_STATISTIC_SUM = "Sum";
+  private static final String ALARM_GREATER_THAN_OR_EQUAL_TO_THRESHOLD
+      = "GreaterThanOrEqualToThreshold";
+  private static final String ALARM_GREATER_THAN_THRESHOLD = "GreaterThanThreshold";
+  private static final String ALARM_TREAT_MISSING_DATA_NOT_BREACHING = "notBreaching";
+
+  // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-applicationautoscaling-scalabletarget.html
+  private static final String AUTO_SCALING_SERVICE_NAMESPACE_ECS = "ecs";
+  private static final String AUTO_SCALING_DIMENSION_DESIRED_COUNT = "ecs:service:DesiredCount";
+  private static final String AUTO_SCALING_POLICY_TYPE_TARGET_TRACKING = "TargetTrackingScaling";
+  private static final String AUTO_SCALING_METRIC_CPU = "ECSServiceAverageCPUUtilization";
+  private static final String AUTO_SCALING_METRIC_MEMORY = "ECSServiceAverageMemoryUtilization";
+  private static final String AUTO_SCALING_METRIC_REQUEST_COUNT = "ALBRequestCountPerTarget";
+  // https://docs.aws.amazon.com/autoscaling/application/userguide/application-auto-scaling-service-linked-roles.html
+  private static final String AUTO_SCALING_ECS_SERVICE_LINKED_ROLE
+      = "role/aws-service-role/ecs.application-autoscaling.amazonaws.com/"
+        + "AWSServiceRoleForApplicationAutoScaling_ECSService";
 
   private ElasticContainerService(Construct scope, String id) {
     super(scope, id);
@@ -116,8 +226,31 @@ public final class ElasticContainerService extends Construct {
     var eCService = new ElasticContainerService(Objects.requireNonNull(scope),
                                                 Objects.requireNonNull(id));
 
-    var targetGroup = targetGroup(eCService, inParameters, netOutputParams);
-    var serviceHttpListenerRules = httpListenerRules(eCService, targetGroup, netOutputParams);
+    // the scheduled actions replace the scalable target bounds, which are set by the auto scaling
+    if (inParameters.getAutoScaling() == null && !scheduledCapacities(inParameters).isEmpty()) {
+      throw new IllegalArgumentException("Scheduled capacities require auto scaling");
+    }
+
+    // otherwise the service would depend on a listener rule left out by its condition. The
+    // network listener arn is a token until deployed, so the caller must state it's there
+    if (requiresHttpsListener(inParameters) && !inParameters.isHttpsListenerAvailable()) {
+      throw new IllegalArgumentException("HTTP/2 and gRPC target groups require the network to "
+                                         + "have an HTTPS listener");
+    }
+
+    var targetGroup = targetGroup(eCService, "targetGroup", inParameters, netOutputParams);
+    var blueGreenDeployment = inParameters.getBlueGreenDeployment();
+    if (blueGreenDeployment != null && !blueGreenDeployment.isHttpsTrafficRoute()
+        && requiresHttpsListener(inParameters)) {
+      throw new IllegalArgumentException("HTTP/2 and gRPC target groups require the blue/green "
+                                         + "production traffic to be routed through HTTPS");
+    }
+    var greenTargetGroup = blueGreenDeployment != null
+                           ? targetGroup(eCService, "greenTargetGroup", inParameters,
+                                         netOutputParams)
+                           : null;
+    var serviceHttpListenerRules = httpListenerRules(eCService, appEnv, inParameters, targetGroup,
+                                                     greenTargetGroup, netOutputParams);
 
     var logGroup = LogGroup.Builder.create(eCService, "ecsLogGroup")
                                    .logGroupName(applicationEnvironment.prefixed("logs"))
@@ -126,32 +259,52 @@ public final class ElasticContainerService extends Construct {
                                    .build();
 
     var ecsTaskExecutionRole = ecsTaskExecutionRole(eCService, appEnv);
-    var ecsTaskRole = ecsTaskRole(eCService, appEnv, inParameters);
+    var ecsTaskRole = ecsTaskRole(eCService, appEnv, inParameters, logGroup);
 
     var dockerImageUrl = dockerImageRepositoryUrl(eCService, inParameters, ecsTaskExecutionRole);
 
-    var containerDefProperty = containerDefinitionProperty(Objects.requireNonNull(awsEnvironment),
-                                                           logGroup, appEnv, inParameters,
-                                                           dockerImageUrl);
+    var validAwsEnvironment = Objects.requireNonNull(awsEnvironment);
+    var containerDefProperty = containerDefinitionProperty(validAwsEnvironment, logGroup, appEnv,
+                                                           inParameters, dockerImageUrl);
+    var sidecarDefProperties = sidecarDefinitionProperties(validAwsEnvironment, logGroup, appEnv,
+                                                           inParameters);
+    var containerDefProperties = Stream.concat(Stream.of(containerDefProperty),
+                                               sidecarDefProperties.stream())
+                                       .toList();
 
     var taskDefinition = taskDefinition(eCService, inParameters, ecsTaskExecutionRole, ecsTaskRole,
-                                        containerDefProperty);
+                                        containerDefProperties);
 
     var ecsSecurityGroup = ecsSecurityGroup(eCService, inParameters, netOutputParams);
 
     var cfnService = cfnService(eCService, taskDefinition, targetGroup, ecsSecurityGroup, appEnv,
                                 inParameters, netOutputParams);
     // https://stackoverflow.com/q/61250772/5640649
-    cfnService.addDependsOn(serviceHttpListenerRules.getHttpRule());
+    cfnService.addDependsOn(Optional.ofNullable(serviceHttpListenerRules.getHttpRule())
+                                    .orElseGet(serviceHttpListenerRules::getHttpsRule));
+
+    if (blueGreenDeployment != null) {
+      blueGreenDeploymentGroup(eCService, cfnService, targetGroup, greenTargetGroup,
+                               blueGreenDeployment, netOutputParams);
+    }
+
+    var autoScalingParams = inParameters.getAutoScaling();
+    if (autoScalingParams != null) {
+      var scalableTarget = scalableTarget(eCService, cfnService, autoScalingParams,
+                                          scheduledCapacities(inParameters), netOutputParams);
+      targetTrackingScalingPolicies(eCService, scalableTarget, targetGroup, autoScalingParams,
+                                    netOutputParams);
+    }
 
     return eCService;
   }
 
   // region helpers
-  private static CfnTargetGroup targetGroup(ElasticContainerService scope, InputParameters params,
+  private static CfnTargetGroup targetGroup(ElasticContainerService scope, String id,
+                                            InputParameters params,
                                             Network.OutputParameters netOutputParameters) {
     // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-elasticloadbalancingv2-targetgroup.html
-    return CfnTargetGroup.Builder.create(scope, "targetGroup")
+    return CfnTargetGroup.Builder.create(scope, id)
                                  .healthCheckIntervalSeconds(params.getHealthCheckIntervalSeconds())
                                  .healthCheckPath(params.getHealthCheckPath())
                                  .healthCheckPort(params.getHealthCheckPortString())
@@ -159,14 +312,75 @@ public final class ElasticContainerService extends Construct {
                                  .healthCheckTimeoutSeconds(params.getHealthCheckTimeoutSeconds())
                                  .healthyThresholdCount(params.getHealthyThresholdCount())
                                  .unhealthyThresholdCount(params.getUnhealthyThresholdCount())
-                                 .targetGroupAttributes(stickySessionsConf(params))
+                                 .targetGroupAttributes(targetGroupAttributes(params))
                                  .targetType(TARGET_TYPE_IP)
                                  .port(params.getApplicationPort())
                                  .protocol(params.getApplicationProtocol())
+                                 .protocolVersion(params.getProtocolVersion())
+                                 .matcher(targetGroupMatcher(params))
                                  .vpcId(netOutputParameters.getVpcId())
                                  .build();
   }
 
+  private static CfnTargetGroup.MatcherProperty targetGroupMatcher(InputParameters params) {
+    var healthCheckMatcher = params.getHealthCheckMatcher();
+    if (healthCheckMatcher == null) {
+      return null;
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-elasticloadbalancingv2-targetgroup-matcher.html
+    return PROTOCOL_VERSION_GRPC.equals(params.getProtocolVersion())
+           ? CfnTargetGroup.MatcherProperty.builder().grpcCode(healthCheckMatcher).build()
+           : CfnTargetGroup.MatcherProperty.builder().httpCode(healthCheckMatcher).build();
+  }
+
+  /**
+   * Returns whether the target group protocol version can only be used in HTTPS listeners.
+   */
+  private static boolean requiresHttpsListener(InputParameters params) {
+    var protocolVersion = params.getProtocolVersion();
+    return PROTOCOL_VERSION_HTTP2.equals(protocolVersion)
+           || PROTOCOL_VERSION_GRPC.equals(protocolVersion);
+  }
+
+  private static List<CfnTargetGroup.TargetGroupAttributeProperty> targetGroupAttributes(
+      InputParameters params
+                                                                                        ) {
+    return Stream.concat(stickySessionsConf(params).stream(), trafficShapingConf(params).stream())
+                 .toList();
+  }
+
+  private static List<CfnTargetGroup.TargetGroupAttributeProperty> trafficShapingConf(
+      InputParameters params
+                                                                                     ) {
+    var slowStartDuration = params.getSlowStartDurationSeconds();
+    var algorithm = params.getLoadBalancingAlgorithm();
+    if (slowStartDuration != null && slowStartDuration > 0
+        && LOAD_BALANCING_ALGORITHM_LEAST_OUTSTANDING_REQUESTS.equals(algorithm)) {
+      throw new IllegalArgumentException("Slow start mode can not be enabled together with the "
+                                         + "least outstanding requests load balancing algorithm");
+    }
+
+    // https://docs.aws.amazon.com/elasticloadbalancing/latest/application/load-balancer-target-groups.html#target-group-attributes
+    var attributes = new ArrayList<CfnTargetGroup.TargetGroupAttributeProperty>();
+    if (slowStartDuration != null) {
+      attributes.add(targetGroupAttribute(SLOW_START_DURATION, String.valueOf(slowStartDuration)));
+    }
+    var deregistrationDelay = params.getDeregistrationDelaySeconds();
+    if (deregistrationDelay != null) {
+      attributes.add(targetGroupAttribute(DEREGISTRATION_DELAY_TIMEOUT,
+                                          String.valueOf(deregistrationDelay)));
+    }
+    if (algorithm != null) {
+      attributes.add(targetGroupAttribute(LOAD_BALANCING_ALGORITHM_TYPE, algorithm));
+    }
+    return attributes;
+  }
+
+  private static CfnTargetGroup.TargetGroupAttributeProperty targetGroupAttribute(String key,
+                                                                                  String value) {
+    return CfnTargetGroup.TargetGroupAttributeProperty.builder().key(key).value(value).build();
+  }
+
   private static List<CfnTargetGroup.TargetGroupAttributeProperty> stickySessionsConf(
       InputParameters params
                                                                                      ) {
@@ -193,18 +407,21 @@ public final class ElasticContainerService extends Construct {
                          .build());
   }
 
-  private static ServiceListenerRules httpListenerRules(Construct scope, CfnTargetGroup targetGroup,
+  private static ServiceListenerRules httpListenerRules(Construct scope,
+                                                        ApplicationEnvironment appEnv,
+                                                        InputParameters inParams,
+                                                        CfnTargetGroup targetGroup,
+                                                        CfnTargetGroup greenTargetGroup,
                                                         Network.OutputParameters netOutputParams) {
     // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-elasticloadbalancingv2-listenerrule.html
-    var actionProperty = CfnListenerRule.ActionProperty.builder()
-                                                       .targetGroupArn(targetGroup.getRef())
-                                                       .type(LISTENER_RULE_ACTION_TYPE_FORWARD)
-                                                       .build();
-    var conditionProperty
-        = CfnListenerRule.RuleConditionProperty.builder()
-                                               .field(LISTENER_RULE_CONDITION_PATH_PATTERN)
-                                               .values(List.of("*"))
-                                               .build();
+    var actionProperty = greenTargetGroup == null
+                         ? CfnListenerRule.ActionProperty.builder()
+                                                         .targetGroupArn(targetGroup.getRef())
+                                                         .type(LISTENER_RULE_ACTION_TYPE_FORWARD)
+                                                         .build()
+                         : weightedForwardAction(targetGroup, greenTargetGroup);
+    var conditions = listenerRuleConditions(inParams);
+    var priority = listenerRulePriority(appEnv, inParams);
     var nullValue = Network.NULL_ARN_VALUE;
     var httpsListenerArn = netOutputParams.getHttpsListenerArn().orElse(nullValue);
 
@@ -216,23 +433,254 @@ public final class ElasticContainerService extends Construct {
     var httpsListenerRule
         = CfnListenerRule.Builder.create(scope, "httpsListenerRule")
                                  .actions(List.of(actionProperty))
-                                 .conditions(List.of(conditionProperty))
+                                 .conditions(conditions)
                                  .listenerArn(httpsListenerArn)
-                                 .priority(HTTP_LISTENER_RULE_FORWARD_PATH_PRIORITY)
+                                 .priority(priority)
                                  .build();
     httpsListenerRule.getCfnOptions().setCondition(httpsListenerArnExists);
 
+    // HTTP/2 and gRPC target groups can only be forwarded to from HTTPS listeners
     var httpListenerRule
-        = CfnListenerRule.Builder.create(scope, "httpListenerRule")
-                                 .actions(List.of(actionProperty))
-                                 .conditions(List.of(conditionProperty))
-                                 .listenerArn(netOutputParams.getHttpListenerArn())
-                                 .priority(HTTPS_LISTENER_RULE_FORWARD_PATH_PRIORITY)
-                                 .build();
+        = requiresHttpsListener(inParams)
+          ? null
+          : CfnListenerRule.Builder.create(scope, "httpListenerRule")
+                                   .actions(List.of(actionProperty))
+                                   .conditions(conditions)
+                                   .listenerArn(netOutputParams.getHttpListenerArn())
+                                   .priority(priority)
+                                   .build();
+
+    listenerResponseRules(scope, appEnv, inParams, priority, netOutputParams.getHttpListenerArn(),
+                          httpsListenerArn, httpsListenerArnExists);
 
     return new ServiceListenerRules(httpListenerRule, httpsListenerRule);
   }
 
+  private static void listenerResponseRules(Construct scope, ApplicationEnvironment appEnv,
+                                            InputParameters inParams, int forwardPriority,
+                                            String httpListenerArn, String httpsListenerArn,
+                                            CfnCondition httpsListenerArnExists) {
+    var responseRules = inParams.getListenerResponseRules();
+    if (responseRules == null) {
+      return;
+    }
+    // the rules of a listener can't share a priority, which would only fail on deployment
+    var priorities = new HashSet<Integer>();
+    priorities.add(forwardPriority);
+    for (int i = 0; i < responseRules.size(); i++) {
+      var responseRule = responseRules.get(i);
+      var actions = List.of(listenerResponseRuleAction(responseRule));
+      var conditions = listenerResponseRuleConditions(responseRule);
+      if (inParams.isListenerShared() && responseRule.getPriority() == null) {
+        throw new IllegalArgumentException("Listener response rule priorities must be set when "
+                                           + "the listeners are shared with other services");
+      }
+      var priority = listenerResponseRulePriority(appEnv, responseRule);
+      if (!priorities.add(priority)) {
+        throw new IllegalArgumentException(
+            String.format("Listener rule priority %s is used by more than one rule of the "
+                          + "service, it must be set explicitly", priority));
+      }
+
+      var httpsResponseRule
+          = CfnListenerRule.Builder.create(scope, "httpsResponseListenerRule" + i)
+                                   .actions(actions)
+                                   .conditions(conditions)
+                                   .listenerArn(httpsListenerArn)
+                                   .priority(priority)
+                                   .build();
+      httpsResponseRule.getCfnOptions().setCondition(httpsListenerArnExists);
+
+      CfnListenerRule.Builder.create(scope, "httpResponseListenerRule" + i)
+                             .actions(actions)
+                             .conditions(conditions)
+                             .listenerArn(httpListenerArn)
+                             .priority(priority)
+                             .build();
+    }
+  }
+
+  private static CfnListenerRule.ActionProperty listenerResponseRuleAction(
+      ListenerResponseRule responseRule
+                                                                          ) {
+    var fixedResponseStatusCode = responseRule.getFixedResponseStatusCode();
+    var redirectStatusCode = responseRule.getRedirectStatusCode();
+    if ((fixedResponseStatusCode == null) == (redirectStatusCode == null)) {
+      throw new IllegalArgumentException("A listener response rule must have either a fixed "
+                                         + "response status code or a redirect status code");
+    }
+    if (fixedResponseStatusCode != null) {
+      // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-elasticloadbalancingv2-listenerrule-fixedresponseconfig.html
+      var contentType = responseRule.getFixedResponseContentType();
+      var fixedResponse
+          = CfnListenerRule.FixedResponseConfigProperty.builder()
+                                                       .statusCode(fixedResponseStatusCode)
+                                                       .contentType(contentType)
+                                                       .messageBody(responseRule
+                                                                        .getFixedResponseBody())
+                                                       .build();
+      return CfnListenerRule.ActionProperty.builder()
+                                           .type(LISTENER_RULE_ACTION_TYPE_FIXED_RESPONSE)
+                                           .fixedResponseConfig(fixedResponse)
+                                           .build();
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-elasticloadbalancingv2-listenerrule-redirectconfig.html
+    var redirect
+        = CfnListenerRule.RedirectConfigProperty.builder()
+                                                .statusCode(redirectStatusCode)
+                                                .protocol(responseRule.getRedirectProtocol())
+                                                .host(responseRule.getRedirectHost())
+                                                .port(responseRule.getRedirectPort())
+                                                .path(responseRule.getRedirectPath())
+                                                .query(responseRule.getRedirectQuery())
+                                                .build();
+    return CfnListenerRule.ActionProperty.builder()
+                                         .type(LISTENER_RULE_ACTION_TYPE_REDIRECT)
+                                         .redirectConfig(redirect)
+                                         .build();
+  }
+
+  private static List<CfnListenerRule.RuleConditionProperty> listenerResponseRuleConditions(
+      ListenerResponseRule responseRule
+                                                                                          ) {
+    var conditions = new ArrayList<CfnListenerRule.RuleConditionProperty>();
+    var pathPatterns = responseRule.getPathPatterns();
+    if (pathPatterns != null && !pathPatterns.isEmpty()) {
+      conditions.add(listenerRuleCondition(LISTENER_RULE_CONDITION_PATH_PATTERN, pathPatterns));
+    }
+    var hostHeaders = responseRule.getHostHeaders();
+    if (hostHeaders != null && !hostHeaders.isEmpty()) {
+      conditions.add(listenerRuleCondition(LISTENER_RULE_CONDITION_HOST_HEADER, hostHeaders));
+    }
+    if (conditions.isEmpty()) {
+      throw new IllegalArgumentException("A listener response rule must have at least a path "
+                                         + "pattern or a host header");
+    }
+    return conditions;
+  }
+
+  static int listenerResponseRulePriority(ApplicationEnvironment appEnv,
+                                          ListenerResponseRule responseRule) {
+    var priority = responseRule.getPriority();
+    if (priority != null) {
+      return validListenerRulePriority(priority);
+    }
+    var ruleKey = joinedString(DASH_JOINER, appEnv, responseRule.getPathPatterns(),
+                               responseRule.getHostHeaders());
+    return derivedListenerRulePriority(ruleKey, LISTENER_RULE_RESPONSE_MIN_PRIORITY,
+                                       LISTENER_RULE_FORWARD_MIN_PRIORITY - 1);
+  }
+
+  private static List<CfnListenerRule.RuleConditionProperty> listenerRuleConditions(
+      InputParameters inParams
+                                                                                  ) {
+    var pathPatterns = listenerRulePathPatterns(inParams);
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-elasticloadbalancingv2-listenerrule-rulecondition.html
+    var conditions = new ArrayList<CfnListenerRule.RuleConditionProperty>();
+    conditions.add(listenerRuleCondition(LISTENER_RULE_CONDITION_PATH_PATTERN, pathPatterns));
+    var hostHeaders = inParams.getListenerRuleHostHeaders();
+    if (hostHeaders != null && !hostHeaders.isEmpty()) {
+      conditions.add(listenerRuleCondition(LISTENER_RULE_CONDITION_HOST_HEADER, hostHeaders));
+    }
+    var httpMethods = inParams.getListenerRuleHttpMethods();
+    if (httpMethods != null && !httpMethods.isEmpty()) {
+      // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-elasticloadbalancingv2-listenerrule-httprequestmethodconfig.html
+      var methodConfig = CfnListenerRule.HttpRequestMethodConfigProperty.builder()
+                                                                        .values(httpMethods)
+                                                                        .build();
+      var methodCondition
+          = CfnListenerRule.RuleConditionProperty.builder()
+                                                 .field(LISTENER_RULE_CONDITION_HTTP_REQ_METHOD)
+                                                 .httpRequestMethodConfig(methodConfig)
+                                                 .build();
+      conditions.add(methodCondition);
+    }
+    return conditions;
+  }
+
+  private static CfnListenerRule.RuleConditionProperty listenerRuleCondition(String field,
+                                                                             List<String> values) {
+    return CfnListenerRule.RuleConditionProperty.builder().field(field).values(values).build();
+  }
+
+  private static List<String> listenerRulePathPatterns(InputParameters inParams) {
+    var pathPatterns = inParams.getListenerRulePathPatterns();
+    return pathPatterns == null || pathPatterns.isEmpty()
+           ? List.of(LISTENER_RULE_ANY_PATH)
+           : pathPatterns;
+  }
+
+  /**
+   * Returns the priority of the listener rules forwarding the requests to the service. If it's not
+   * set explicitly, it's derived from a hash of the application environment, so it's the same on
+   * every deployment. The derived priority is best-effort: the ones of the rules of a service are
+   * checked on synthesis, but the ones of other services aren't known here, so a collision with
+   * them only fails the deployment. That's why the priority must be set explicitly when the
+   * listeners are shared. Rules matching any request get a priority in the upper range, so the
+   * ones matching specific paths, hosts or methods are evaluated before them. The lower range is
+   * left to the rules answered by the load balancer itself.
+   *
+   * @see InputParameters#isListenerShared()
+   * @see ListenerResponseRule
+   */
+  static int listenerRulePriority(ApplicationEnvironment appEnv, InputParameters inParams) {
+    var priority = inParams.getListenerRulePriority();
+    if (priority != null) {
+      return validListenerRulePriority(priority);
+    }
+    if (inParams.isListenerShared()) {
+      throw new IllegalArgumentException("Listener rule priority must be set when the listeners "
+                                         + "are shared with other services");
+    }
+    var hostHeaders = inParams.getListenerRuleHostHeaders();
+    var httpMethods = inParams.getListenerRuleHttpMethods();
+    var catchAll = (hostHeaders == null || hostHeaders.isEmpty())
+                   && (httpMethods == null || httpMethods.isEmpty())
+                   && listenerRulePathPatterns(inParams).stream()
+                                                        .allMatch(LISTENER_RULE_ANY_PATH::equals);
+    return catchAll
+           ? derivedListenerRulePriority(appEnv.toString(), LISTENER_RULE_CATCH_ALL_MIN_PRIORITY,
+                                         LISTENER_RULE_MAX_PRIORITY)
+           : derivedListenerRulePriority(appEnv.toString(), LISTENER_RULE_FORWARD_MIN_PRIORITY,
+                                         LISTENER_RULE_CATCH_ALL_MIN_PRIORITY - 1);
+  }
+
+  private static int validListenerRulePriority(int priority) {
+    if (priority < LISTENER_RULE_MIN_PRIORITY || LISTENER_RULE_MAX_PRIORITY < priority) {
+      throw new IllegalArgumentException(
+          String.format("Listener rule priority must be between %s and %s",
+                        LISTENER_RULE_MIN_PRIORITY, LISTENER_RULE_MAX_PRIORITY));
+    }
+    return priority;
+  }
+
+  private static int derivedListenerRulePriority(String ruleKey, int minPriority,
+                                                 int maxPriority) {
+    return minPriority + Math.floorMod(ruleKey.hashCode(), maxPriority - minPriority + 1);
+  }
+
+  private static CfnListenerRule.ActionProperty weightedForwardAction(
+      CfnTargetGroup blueTargetGroup, CfnTargetGroup greenTargetGroup
+                                                                    ) {
+    // all the traffic goes initially to the blue target group, CodeDeploy shifts it afterwards
+    var blue = CfnListenerRule.TargetGroupTupleProperty.builder()
+                                                       .targetGroupArn(blueTargetGroup.getRef())
+                                                       .weight(BLUE_TARGET_GROUP_WEIGHT)
+                                                       .build();
+    var green = CfnListenerRule.TargetGroupTupleProperty.builder()
+                                                        .targetGroupArn(greenTargetGroup.getRef())
+                                                        .weight(GREEN_TARGET_GROUP_WEIGHT)
+                                                        .build();
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-elasticloadbalancingv2-listenerrule-forwardconfig.html
+    var forwardConfig = CfnListenerRule.ForwardConfigProperty.builder()
+                                                             .targetGroups(List.of(blue, green))
+                                                             .build();
+    return CfnListenerRule.ActionProperty.builder()
+                                         .type(LISTENER_RULE_ACTION_TYPE_FORWARD)
+                                         .forwardConfig(forwardConfig)
+                                         .build();
+  }
+
   private static Role ecsTaskExecutionRole(Construct scope, ApplicationEnvironment appEnv) {
     var resources = List.of("*");
     var actions = List.of("ecr:GetAuthorizationToken", "ecr:BatchCheckLayerAvailability",
@@ -255,12 +703,13 @@ public final class ElasticContainerService extends Construct {
   }
 
   private static Role ecsTaskRole(Construct scope, ApplicationEnvironment appEnv,
-                                  ElasticContainerService.InputParameters params) {
+                                  ElasticContainerService.InputParameters params,
+                                  ILogGroup logGroup) {
     var iamPrincipal = ServicePrincipal.Builder.create(ECS_TASKS_AMAZONAWS_PRINCIPAL).build();
     var roleBuilder = Role.Builder.create(scope, "ecsTaskRole").assumedBy(iamPrincipal).path("/");
 
-    var taskRolePolicyStatements = params.getTaskRolePolicyStatements();
-    if (taskRolePolicyStatements != null && !taskRolePolicyStatements.isEmpty()) {
+    var taskRolePolicyStatements = taskRolePolicyStatements(params, logGroup);
+    if (!taskRolePolicyStatements.isEmpty()) {
       var policyDocument = PolicyDocument.Builder.create()
                                                  .statements(taskRolePolicyStatements)
                                                  .build();
@@ -270,6 +719,25 @@ public final class ElasticContainerService extends Construct {
     return roleBuilder.build();
   }
 
+  static List<PolicyStatement> taskRolePolicyStatements(InputParameters params,
+                                                        ILogGroup logGroup) {
+    var statements = new ArrayList<>(Optional.ofNullable(params.getTaskRolePolicyStatements())
+                                             .orElse(emptyList()));
+    // unlike the awslogs driver, a FireLens router writes the logs with the task role
+    var logRouter = params.getFireLensRouter();
+    if (logRouter != null
+        && FireLensRouter.OUTPUT_CLOUDWATCH_LOGS.equals(logRouter.getOutputPlugin())) {
+      statements.add(PolicyStatement.Builder.create()
+                                            .effect(Effect.ALLOW)
+                                            .resources(List.of(logGroup.getLogGroupArn()))
+                                            .actions(List.of("logs:CreateLogStream",
+                                                             "logs:PutLogEvents",
+                                                             "logs:DescribeLogStreams"))
+                                            .build());
+    }
+    return statements;
+  }
+
   private static String dockerImageRepositoryUrl(Construct scope, InputParameters params,
                                                  IGrantable ecsTaskExecutionRole) {
     var dockerImage = Objects.requireNonNull(params.getDockerImage());
@@ -290,36 +758,295 @@ public final class ElasticContainerService extends Construct {
       Environment awsEnv, ILogGroup logGroup, ApplicationEnvironment appEnv, InputParameters params,
       String dockerImageRepositoryUrl
                                                                                           ) {
-    var logConfOptions = Map.of("awslogs-group", logGroup.getLogGroupName(),
-                                "awslogs-region", Objects.requireNonNull(awsEnv.getRegion()),
-                                "awslogs-stream-prefix", appEnv.prefixed("stream"),
-                                "awslogs-datetime-format", params.getAwsLogsDateTimeFormat());
-    var logConf = CfnTaskDefinition.LogConfigurationProperty.builder()
-                                                            .logDriver(LOG_DRIVER_AWS_LOGS)
-                                                            .options(logConfOptions)
-                                                            .build();
-    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-containerdefinitions-portmappings.html
-    var portMappings = Stream.of(params.getApplicationPort(), params.getHealthCheckPort())
-                             .distinct()
-                             .map(port -> CfnTaskDefinition.PortMappingProperty.builder()
-                                                                               .containerPort(port)
-                                                                               .build())
-                             .collect(Collectors.toList());
-    var environmentVars = cfnTaskDefKeyValuePropertiesFrom(params.getEnvironmentVariables());
+    var logRouter = params.getFireLensRouter();
+    var logConf = logRouter == null
+                  ? awsLogsConfiguration(awsEnv, logGroup, appEnv.prefixed("stream"), params)
+                  : fireLensLogConfiguration(awsEnv, logGroup, appEnv.prefixed("stream"),
+                                             logRouter);
+    var portMappings = portMappings(Stream.of(params.getApplicationPort(),
+                                              params.getHealthCheckPort()));
+
+    // the task resources not reserved by the sidecar containers are left to the application
+    var sidecars = sidecarContainers(params);
+    var cpu = params.getCpu() - sumOf(sidecars, SidecarContainer::getCpu)
+              - (logRouter != null ? logRouter.getCpu() : 0);
+    var memory = params.getMemory() - sumOf(sidecars, SidecarContainer::getMemory)
+                 - (logRouter != null ? logRouter.getMemory() : 0);
+    if ((!sidecars.isEmpty() || logRouter != null) && (cpu < 1 || memory < 1)) {
+      throw new IllegalArgumentException("The sidecar containers cpu and memory must be lower "
+                                         + "than the task cpu and memory");
+    }
+    var environmentVars = cfnTaskDefKeyValuePropertiesFrom(
+        applicationEnvironmentVariables(params, cpu, memory)
+                                                          );
 
     // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-ecs-taskdefinition.html
-    return CfnTaskDefinition.ContainerDefinitionProperty.builder()
-                                                        .name(containerName(appEnv))
-                                                        .cpu(params.getCpu())
-                                                        .memory(params.getMemory())
-                                                        .image(dockerImageRepositoryUrl)
-                                                        .logConfiguration(logConf)
-                                                        .portMappings(portMappings)
-                                                        .environment(environmentVars)
-                                                        .build();
+    return CfnTaskDefinition.ContainerDefinitionProperty
+        .builder()
+        .name(containerName(appEnv))
+        .cpu(cpu)
+        .memory(memory)
+        .image(dockerImageRepositoryUrl)
+        .logConfiguration(logConf)
+        .portMappings(portMappings)
+        .environment(environmentVars)
+        .mountPoints(mountPoints(params.getMountPoints()))
+        .dependsOn(containerDependencies(applicationContainerDependencies(appEnv, params)))
+        .healthCheck(containerHealthCheck(params.getContainerHealthCheck()))
+        .startTimeout(params.getContainerStartTimeoutSeconds())
+        .stopTimeout(params.getContainerStopTimeoutSeconds())
+        .linuxParameters(linuxParameters(params))
+        .build();
+  }
+
+  private static Map<String, String> applicationContainerDependencies(ApplicationEnvironment appEnv,
+                                                                      InputParameters params) {
+    var dependencies = Optional.ofNullable(params.getContainerDependencies()).orElse(emptyMap());
+    if (params.getFireLensRouter() == null) {
+      return dependencies;
+    }
+    // the log router must be up before the application starts sending logs to it
+    var withLogRouter = new HashMap<>(dependencies);
+    withLogRouter.putIfAbsent(logRouterName(appEnv), CONTAINER_CONDITION_START);
+    return withLogRouter;
+  }
+
+  private static Map<String, String> applicationEnvironmentVariables(InputParameters params,
+                                                                     int cpu, int memory) {
+    var environmentVariables = params.getEnvironmentVariables();
+    var jvmProfile = params.getJvmProfile();
+    if (jvmProfile == null) {
+      return environmentVariables;
+    }
+    // options explicitly set by the user go last, so they take precedence over the derived ones
+    var derivedOptions = jvmProfile.javaToolOptions(cpu, memory);
+    var userOptions = environmentVariables.get(JAVA_TOOL_OPTIONS);
+    var javaToolOptions = userOptions == null || userOptions.isBlank()
+                          ? derivedOptions
+                          : String.join(" ", derivedOptions, userOptions);
+
+    var merged = new HashMap<>(environmentVariables);
+    merged.put(JAVA_TOOL_OPTIONS, javaToolOptions);
+    return merged;
+  }
+
+  private static CfnTaskDefinition.HealthCheckProperty containerHealthCheck(
+      ContainerHealthCheck healthCheck
+                                                                           ) {
+    if (healthCheck == null) {
+      return null;
+    }
+    var command = Objects.requireNonNull(healthCheck.getCommand());
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-healthcheck.html
+    return CfnTaskDefinition.HealthCheckProperty.builder()
+                                                .command(command)
+                                                .interval(healthCheck.getIntervalSeconds())
+                                                .timeout(healthCheck.getTimeoutSeconds())
+                                                .retries(healthCheck.getRetries())
+                                                .startPeriod(healthCheck.getStartPeriodSeconds())
+                                                .build();
+  }
+
+  private static CfnTaskDefinition.LinuxParametersProperty linuxParameters(InputParameters params) {
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/task_definition_parameters.html#container_definition_linuxparameters
+    return params.isInitProcessEnabled()
+           ? CfnTaskDefinition.LinuxParametersProperty.builder().initProcessEnabled(true).build()
+           : null;
+  }
+
+  private static List<CfnTaskDefinition.ContainerDefinitionProperty> sidecarDefinitionProperties(
+      Environment awsEnv, ILogGroup logGroup, ApplicationEnvironment appEnv, InputParameters params
+                                                                                                ) {
+    var sidecars = sidecarContainers(params)
+        .stream()
+        .map(sidecar -> sidecarDefinitionProperty(awsEnv, logGroup, appEnv, params, sidecar));
+    var logRouter = Optional.ofNullable(params.getFireLensRouter())
+                            .map(router -> logRouterDefinitionProperty(awsEnv, logGroup, appEnv,
+                                                                       params, router))
+                            .stream();
+    return Stream.concat(sidecars, logRouter).toList();
+  }
+
+  private static CfnTaskDefinition.ContainerDefinitionProperty logRouterDefinitionProperty(
+      Environment awsEnv, ILogGroup logGroup, ApplicationEnvironment appEnv, InputParameters params,
+      FireLensRouter router
+                                                                                          ) {
+    var name = logRouterName(appEnv);
+    // the router own logs can't go through itself
+    var logConf = awsLogsConfiguration(awsEnv, logGroup,
+                                       appEnv.prefixed(joinedString(DASH_JOINER, LOG_ROUTER_NAME,
+                                                                    "stream")),
+                                       params);
+    var options = new HashMap<String, String>();
+    options.put("enable-ecs-log-metadata", String.valueOf(router.isEcsLogMetadataEnabled()));
+    if (router.getConfigFile() != null) {
+      options.put("config-file-type", FIRE_LENS_CONFIG_FILE_TYPE_FILE);
+      options.put("config-file-value", router.getConfigFile());
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-firelensconfiguration.html
+    var fireLensConf = CfnTaskDefinition.FirelensConfigurationProperty
+        .builder()
+        .type(FIRE_LENS_TYPE_FLUENT_BIT)
+        .options(options)
+        .build();
+
+    return CfnTaskDefinition.ContainerDefinitionProperty
+        .builder()
+        .name(name)
+        .image(Objects.requireNonNull(router.getImage()))
+        .cpu(router.getCpu())
+        .memory(router.getMemory())
+        .essential(true)
+        .firelensConfiguration(fireLensConf)
+        .logConfiguration(logConf)
+        .build();
   }
 
-  private static String containerName(ApplicationEnvironment appEnv) {
+  private static String logRouterName(ApplicationEnvironment appEnv) {
+    return appEnv.prefixed(LOG_ROUTER_NAME);
+  }
+
+  private static CfnTaskDefinition.ContainerDefinitionProperty sidecarDefinitionProperty(
+      Environment awsEnv, ILogGroup logGroup, ApplicationEnvironment appEnv, InputParameters params,
+      SidecarContainer sidecar
+                                                                                        ) {
+    var name = Objects.requireNonNull(sidecar.getName());
+    var logConf = awsLogsConfiguration(awsEnv, logGroup,
+                                       appEnv.prefixed(joinedString(DASH_JOINER, name, "stream")),
+                                       params);
+    var ports = Optional.ofNullable(sidecar.getPorts()).orElse(emptyList());
+    var environmentVars = cfnTaskDefKeyValuePropertiesFrom(
+        Optional.ofNullable(sidecar.getEnvironmentVariables()).orElse(emptyMap())
+                                                                                  );
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-containerdefinitions.html
+    return CfnTaskDefinition.ContainerDefinitionProperty
+        .builder()
+        .name(name)
+        .image(Objects.requireNonNull(sidecar.getImage()))
+        .cpu(sidecar.getCpu())
+        .memory(sidecar.getMemory())
+        .essential(sidecar.isEssential())
+        .logConfiguration(logConf)
+        .portMappings(portMappings(ports.stream()))
+        .environment(environmentVars)
+        .mountPoints(mountPoints(sidecar.getMountPoints()))
+        .dependsOn(containerDependencies(sidecar.getContainerDependencies()))
+        .build();
+  }
+
+  private static List<SidecarContainer> sidecarContainers(InputParameters params) {
+    return Optional.ofNullable(params.getSidecarContainers()).orElse(emptyList());
+  }
+
+  private static int sumOf(List<SidecarContainer> sidecars,
+                           Function<SidecarContainer, Integer> resourceGetter) {
+    return sidecars.stream()
+                   .map(resourceGetter)
+                   .filter(Objects::nonNull)
+                   .mapToInt(Integer::intValue)
+                   .sum();
+  }
+
+  private static CfnTaskDefinition.LogConfigurationProperty awsLogsConfiguration(
+      Environment awsEnv, ILogGroup logGroup, String streamPrefix, InputParameters params
+                                                                                ) {
+    var logConfOptions = new HashMap<>(Map.of(
+        "awslogs-group", logGroup.getLogGroupName(),
+        "awslogs-region", Objects.requireNonNull(awsEnv.getRegion()),
+        "awslogs-stream-prefix", streamPrefix,
+        "awslogs-datetime-format", params.getAwsLogsDateTimeFormat()
+                                             ));
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/using_awslogs.html
+    if (params.isAwsLogsNonBlocking()) {
+      logConfOptions.put("mode", AWS_LOGS_MODE_NON_BLOCKING);
+      logConfOptions.put("max-buffer-size",
+                         Objects.requireNonNull(params.getAwsLogsMaxBufferSize()));
+    }
+    return CfnTaskDefinition.LogConfigurationProperty.builder()
+                                                     .logDriver(LOG_DRIVER_AWS_LOGS)
+                                                     .options(logConfOptions)
+                                                     .build();
+  }
+
+  private static CfnTaskDefinition.LogConfigurationProperty fireLensLogConfiguration(
+      Environment awsEnv, ILogGroup logGroup, String streamPrefix, FireLensRouter router
+                                                                                    ) {
+    var outputPlugin = Objects.requireNonNull(router.getOutputPlugin());
+    var compression = router.getCompression();
+    if (compression != null && FireLensRouter.OUTPUT_CLOUDWATCH_LOGS.equals(outputPlugin)) {
+      throw new IllegalArgumentException("The cloudwatch_logs output doesn't support compression");
+    }
+
+    // https://docs.fluentbit.io/manual/pipeline/outputs
+    var options = new HashMap<String, String>();
+    options.put("Name", outputPlugin);
+    if (FireLensRouter.OUTPUT_CLOUDWATCH_LOGS.equals(outputPlugin)) {
+      options.put("region", Objects.requireNonNull(awsEnv.getRegion()));
+      options.put("log_group_name", logGroup.getLogGroupName());
+      options.put("log_stream_prefix", streamPrefix);
+      options.put("auto_create_group", String.valueOf(false));
+    }
+    if (compression != null) {
+      options.put("compression", compression);
+    }
+    options.putAll(Optional.ofNullable(router.getOutputOptions()).orElse(emptyMap()));
+
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/using_firelens.html
+    return CfnTaskDefinition.LogConfigurationProperty.builder()
+                                                     .logDriver(LOG_DRIVER_AWS_FIRE_LENS)
+                                                     .options(options)
+                                                     .build();
+  }
+
+  private static List<CfnTaskDefinition.PortMappingProperty> portMappings(Stream<Integer> ports) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-containerdefinitions-portmappings.html
+    return ports.distinct()
+                .map(port -> CfnTaskDefinition.PortMappingProperty.builder()
+                                                                  .containerPort(port)
+                                                                  .build())
+                .collect(Collectors.toList());
+  }
+
+  private static List<CfnTaskDefinition.MountPointProperty> mountPoints(
+      Map<String, String> containerPathsByVolume
+                                                                       ) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-containerdefinitions-mountpoints.html
+    return Optional.ofNullable(containerPathsByVolume)
+                   .orElse(emptyMap())
+                   .entrySet().stream()
+                   .map(entry -> CfnTaskDefinition.MountPointProperty
+                       .builder()
+                       .sourceVolume(entry.getKey())
+                       .containerPath(entry.getValue())
+                       .build())
+                   .toList();
+  }
+
+  private static List<CfnTaskDefinition.ContainerDependencyProperty> containerDependencies(
+      Map<String, String> conditionsByContainerName
+                                                                                          ) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-containerdependency.html
+    return Optional.ofNullable(conditionsByContainerName)
+                   .orElse(emptyMap())
+                   .entrySet().stream()
+                   .map(entry -> CfnTaskDefinition.ContainerDependencyProperty
+                       .builder()
+                       .containerName(entry.getKey())
+                       .condition(entry.getValue())
+                       .build())
+                   .toList();
+  }
+
+  /**
+   * Returns the name of the application container within the ECS task, so other containers can
+   * declare a dependency on it.
+   *
+   * @param appEnv {@link ApplicationEnvironment} the ECS service is deployed for.
+   *
+   * @return The name of the application container.
+   */
+  public static String containerName(ApplicationEnvironment appEnv) {
     return appEnv.prefixed("container");
   }
 
@@ -340,10 +1067,19 @@ public final class ElasticContainerService extends Construct {
                                                  .build();
   }
 
-  private static CfnTaskDefinition taskDefinition(Construct scope, InputParameters params,
-                                                  IRole ecsTaskExecutionRole, IRole ecsTaskRole,
-                                                  CfnTaskDefinition.ContainerDefinitionProperty prop
+  private static CfnTaskDefinition taskDefinition(
+      Construct scope, InputParameters params, IRole ecsTaskExecutionRole, IRole ecsTaskRole,
+      List<CfnTaskDefinition.ContainerDefinitionProperty> props
                                                  ) {
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/bind-mounts.html
+    var volumes = Optional.ofNullable(params.getSharedVolumes())
+                          .orElse(emptyList())
+                          .stream()
+                          .map(name -> CfnTaskDefinition.VolumeProperty.builder()
+                                                                       .name(name)
+                                                                       .build())
+                          .toList();
+
     return CfnTaskDefinition.Builder.create(scope, "taskDefinition")
                                     .cpu(String.valueOf(params.getCpu()))
                                     .memory(String.valueOf(params.getMemory()))
@@ -352,10 +1088,40 @@ public final class ElasticContainerService extends Construct {
                                     .requiresCompatibilities(List.of(LUNCH_TYPE_FARGATE))
                                     .executionRoleArn(ecsTaskExecutionRole.getRoleArn())
                                     .taskRoleArn(ecsTaskRole.getRoleArn())
-                                    .containerDefinitions(List.of(prop))
+                                    .containerDefinitions(props)
+                                    .volumes(volumes)
+                                    .runtimePlatform(runtimePlatform(params))
                                     .build();
   }
 
+  private static CfnTaskDefinition.RuntimePlatformProperty runtimePlatform(InputParameters params) {
+    var cpuArchitecture = params.getCpuArchitecture();
+    var operatingSystemFamily = params.getOperatingSystemFamily();
+    if (cpuArchitecture == null && operatingSystemFamily == null) {
+      return null;
+    }
+    var dockerImage = Objects.requireNonNull(params.getDockerImage());
+    if (cpuArchitecture != null && !dockerImage.isBuiltFor(cpuArchitecture)) {
+      throw new IllegalArgumentException(String.format("The Docker image is not declared as built "
+                                                       + "for the %s CPU architecture",
+                                                       cpuArchitecture));
+    }
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/fargate-capacity-providers.html
+    var fargateSpotUsed = Optional.ofNullable(params.getCapacityProviderStrategy())
+                                  .orElse(emptyList())
+                                  .stream()
+                                  .map(CapacityProviderStrategyItem::getCapacityProvider)
+                                  .anyMatch(CAPACITY_PROVIDER_FARGATE_SPOT::equals);
+    if (CPU_ARCHITECTURE_ARM64.equals(cpuArchitecture) && fargateSpotUsed) {
+      throw new IllegalArgumentException("Fargate Spot doesn't support the ARM64 CPU architecture");
+    }
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-taskdefinition-runtimeplatform.html
+    return CfnTaskDefinition.RuntimePlatformProperty.builder()
+                                                    .cpuArchitecture(cpuArchitecture)
+                                                    .operatingSystemFamily(operatingSystemFamily)
+                                                    .build();
+  }
+
   private static CfnSecurityGroup ecsSecurityGroup(Construct scope, InputParameters params,
                                                    Network.OutputParameters netOutputParameters) {
     // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ec2-security-group.html
@@ -379,9 +1145,26 @@ public final class ElasticContainerService extends Construct {
         .build();
     allowIngressFromEcsToSecurityGroupIds(scope, secGroup.getAttrGroupId(),
                                           params.getSecurityGroupIdsToGrantIngressFromEcs());
+    allowIngressToEcsFromSecurityGroupIds(scope, secGroup.getAttrGroupId(),
+                                          params.getSecurityGroupIdsToAllowIngressToEcs());
     return secGroup;
   }
 
+  private static void allowIngressToEcsFromSecurityGroupIds(Construct scope, String ecsSecGroupId,
+                                                            Collection<String> sGroupsAccToEcs) {
+    IntFunction<String> idFn = counter -> String.format("ecsIngressFromSecurityGroup%s", counter);
+    AtomicInteger counter = new AtomicInteger(1);
+    Optional.ofNullable(sGroupsAccToEcs)
+            .orElse(emptyList())
+            .forEach(id -> CfnSecurityGroupIngress.Builder
+                         .create(scope, idFn.apply(counter.getAndIncrement()))
+                         .sourceSecurityGroupId(id)
+                         .groupId(ecsSecGroupId)
+                         .ipProtocol(Network.ALL_IP_PROTOCOLS)
+                         .build()
+                    );
+  }
+
   private static void allowIngressFromEcsToSecurityGroupIds(Construct scope, String ecsSecGroupId,
                                                             Collection<String> sGroupsAccFromEcs) {
     IntFunction<String> idFn = counter -> String.format("securityGroupIngress%s", counter);
@@ -405,32 +1188,455 @@ public final class ElasticContainerService extends Construct {
         .builder()
         .maximumPercent(params.getMaximumInstancesPercent())
         .minimumHealthyPercent(params.getMinimumHealthyInstancesPercent())
+        .deploymentCircuitBreaker(deploymentCircuitBreaker(params))
         .build();
     var lBalancerConf = CfnService.LoadBalancerProperty.builder()
                                                        .containerName(containerName(appEnv))
                                                        .containerPort(params.getApplicationPort())
                                                        .targetGroupArn(targetGroup.getRef())
                                                        .build();
+    // tasks in private subnets reach the internet through the NAT gateways, not a public IP
+    var privateSubnets = params.isPrivateSubnetsPlacement();
+    var subnets = privateSubnets
+                  ? netOutputParameters.getPrivateSubnets()
+                  : netOutputParameters.getPublicSubnets();
+    if (privateSubnets && (subnets == null || subnets.isEmpty())) {
+      throw new IllegalArgumentException("The network doesn't have private subnets with NAT");
+    }
     var vpcConf = CfnService.AwsVpcConfigurationProperty
         .builder()
-        .assignPublicIp(ASSIGN_PUBLIC_IP_ENABLED)
+        .assignPublicIp(privateSubnets ? ASSIGN_PUBLIC_IP_DISABLED : ASSIGN_PUBLIC_IP_ENABLED)
         .securityGroups(List.of(securityGroup.getAttrGroupId()))
-        .subnets(netOutputParameters.getPublicSubnets())
+        .subnets(subnets)
         .build();
     var netProps = CfnService.NetworkConfigurationProperty.builder()
                                                           .awsvpcConfiguration(vpcConf)
                                                           .build();
 
+    var healthCheckGracePeriod = params.getHealthCheckGracePeriodSeconds();
+
     // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-ecs-service.html
-    return CfnService.Builder.create(scope, "ecsService")
-                             .cluster(netOutputParameters.getEcsClusterName())
-                             .launchType(LUNCH_TYPE_FARGATE)
-                             .deploymentConfiguration(deployConf)
-                             .desiredCount(params.getDesiredInstancesCount())
-                             .taskDefinition(taskDefinition.getRef())
-                             .loadBalancers(List.of(lBalancerConf))
-                             .networkConfiguration(netProps)
-                             .build();
+    var serviceBuilder = CfnService.Builder.create(scope, "ecsService")
+                                           .cluster(netOutputParameters.getEcsClusterName())
+                                           .deploymentConfiguration(deployConf)
+                                           .healthCheckGracePeriodSeconds(healthCheckGracePeriod)
+                                           .taskDefinition(taskDefinition.getRef())
+                                           .loadBalancers(List.of(lBalancerConf))
+                                           .networkConfiguration(netProps);
+    // the desired count of a scalable target is managed by Application Auto Scaling, setting it
+    // here would reset the tasks scaled out so far on every stack update
+    if (params.getAutoScaling() == null) {
+      serviceBuilder.desiredCount(params.getDesiredInstancesCount());
+    }
+
+    if (params.getBlueGreenDeployment() != null) {
+      // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/deployment-type-bluegreen.html
+      var deploymentController = CfnService.DeploymentControllerProperty
+          .builder()
+          .type(DEPLOYMENT_CONTROLLER_CODE_DEPLOY)
+          .build();
+      serviceBuilder.deploymentController(deploymentController);
+    }
+
+    var serviceDiscoveryName = params.getServiceDiscoveryName();
+    if (serviceDiscoveryName != null) {
+      var registry = serviceDiscoveryService(scope, serviceDiscoveryName, params,
+                                             netOutputParameters);
+      // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-service-serviceregistry.html
+      var serviceRegistry = CfnService.ServiceRegistryProperty.builder()
+                                                              .registryArn(registry.getAttrArn())
+                                                              .build();
+      serviceBuilder.serviceRegistries(List.of(serviceRegistry));
+    }
+
+    // launch type and capacity provider strategy are mutually exclusive
+    var capacityProviderStrategy = capacityProviderStrategy(params);
+    if (capacityProviderStrategy.isEmpty()) {
+      serviceBuilder.launchType(LUNCH_TYPE_FARGATE);
+    } else {
+      serviceBuilder.capacityProviderStrategy(capacityProviderStrategy);
+    }
+
+    return serviceBuilder.build();
+  }
+
+  private static CfnService.DeploymentCircuitBreakerProperty deploymentCircuitBreaker(
+      InputParameters params
+                                                                                    ) {
+    if (!params.isDeploymentCircuitBreakerEnabled()) {
+      return null;
+    }
+    if (params.getBlueGreenDeployment() != null) {
+      throw new IllegalArgumentException("The deployment circuit breaker can only be used with "
+                                         + "rolling updates, not with blue/green deployments");
+    }
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/deployment-circuit-breaker.html
+    return CfnService.DeploymentCircuitBreakerProperty
+        .builder()
+        .enable(true)
+        .rollback(params.isDeploymentRollbackEnabled())
+        .build();
+  }
+
+  private static software.amazon.awscdk.services.servicediscovery.CfnService
+  serviceDiscoveryService(Construct scope, String name, InputParameters params,
+                          Network.OutputParameters netOutputParameters) {
+    // a token until deployed, so a network without namespace can't be detected here
+    var namespaceId = netOutputParameters.getServiceDiscoveryNamespaceId();
+    // tasks in awsvpc network mode get their own IP, so they're registered with A records
+    var dnsRecord = software.amazon.awscdk.services.servicediscovery.CfnService.DnsRecordProperty
+        .builder()
+        .type(DNS_RECORD_TYPE_A)
+        .ttl(params.getServiceDiscoveryDnsTtlSeconds())
+        .build();
+    var dnsConfig = software.amazon.awscdk.services.servicediscovery.CfnService.DnsConfigProperty
+        .builder()
+        .namespaceId(namespaceId)
+        .routingPolicy(DNS_ROUTING_POLICY_MULTIVALUE)
+        .dnsRecords(List.of(dnsRecord))
+        .build();
+    // the ECS service reports the task health status to Cloud Map
+    var healthCheckConfig = software.amazon.awscdk.services.servicediscovery.CfnService
+        .HealthCheckCustomConfigProperty.builder()
+        .failureThreshold(1)
+        .build();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-servicediscovery-service.html
+    return software.amazon.awscdk.services.servicediscovery.CfnService.Builder
+        .create(scope, "serviceDiscoveryService")
+        .name(name)
+        .namespaceId(namespaceId)
+        .dnsConfig(dnsConfig)
+        .healthCheckCustomConfig(healthCheckConfig)
+        .build();
+  }
+
+  private static List<CfnService.CapacityProviderStrategyItemProperty> capacityProviderStrategy(
+      InputParameters params
+                                                                                               ) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-ecs-service-capacityproviderstrategyitem.html
+    return Optional.ofNullable(params.getCapacityProviderStrategy())
+                   .orElse(emptyList())
+                   .stream()
+                   .map(item -> CfnService.CapacityProviderStrategyItemProperty
+                       .builder()
+                       .capacityProvider(Objects.requireNonNull(item.getCapacityProvider()))
+                       .base(item.getBase())
+                       .weight(item.getWeight())
+                       .build())
+                   .toList();
+  }
+
+  private static CfnDeploymentGroup blueGreenDeploymentGroup(
+      Construct scope, CfnService service, CfnTargetGroup blueTargetGroup,
+      CfnTargetGroup greenTargetGroup, BlueGreenDeployment conf,
+      Network.OutputParameters netOutputParameters
+                                                            ) {
+    var loadBalancerFullName = loadBalancerFullName(netOutputParameters);
+    var alarms = Stream.concat(targetGroupAlarms(scope, "blue", blueTargetGroup,
+                                                 loadBalancerFullName, conf).stream(),
+                               targetGroupAlarms(scope, "green", greenTargetGroup,
+                                                 loadBalancerFullName, conf).stream())
+                       .map(alarm -> CfnDeploymentGroup.AlarmProperty.builder()
+                                                                     .name(alarm.getRef())
+                                                                     .build())
+                       .toList();
+    var alarmConf = alarms.isEmpty()
+                    ? null
+                    : CfnDeploymentGroup.AlarmConfigurationProperty.builder()
+                                                                   .enabled(true)
+                                                                   .alarms(alarms)
+                                                                   .build();
+    var rollbackConf = CfnDeploymentGroup.AutoRollbackConfigurationProperty
+        .builder()
+        .enabled(true)
+        .events(List.of(CODE_DEPLOY_EVENT_DEPLOYMENT_FAILURE,
+                        CODE_DEPLOY_EVENT_DEPLOYMENT_STOP_ON_ALARM))
+        .build();
+
+    var listenerArn = conf.isHttpsTrafficRoute()
+                      ? netOutputParameters.getHttpsListenerArn()
+                                           .orElseThrow(() -> new IllegalArgumentException(
+                                               "The network doesn't have an HTTPS listener"))
+                      : netOutputParameters.getHttpListenerArn();
+    var targetGroups = Stream.of(blueTargetGroup, greenTargetGroup)
+                             .map(tg -> CfnDeploymentGroup.TargetGroupInfoProperty
+                                 .builder()
+                                 .name(tg.getAttrTargetGroupName())
+                                 .build())
+                             .toList();
+    var targetGroupPair = CfnDeploymentGroup.TargetGroupPairInfoProperty
+        .builder()
+        .targetGroups(targetGroups)
+        .prodTrafficRoute(CfnDeploymentGroup.TrafficRouteProperty.builder()
+                                                                 .listenerArns(List.of(listenerArn))
+                                                                 .build())
+        .build();
+    var loadBalancerInfo = CfnDeploymentGroup.LoadBalancerInfoProperty
+        .builder()
+        .targetGroupPairInfoList(List.of(targetGroupPair))
+        .build();
+
+    var blueGreenConf = CfnDeploymentGroup.BlueGreenDeploymentConfigurationProperty
+        .builder()
+        .deploymentReadyOption(CfnDeploymentGroup.DeploymentReadyOptionProperty
+                                   .builder()
+                                   .actionOnTimeout(CODE_DEPLOY_CONTINUE_DEPLOYMENT)
+                                   .build())
+        .terminateBlueInstancesOnDeploymentSuccess(
+            CfnDeploymentGroup.BlueInstanceTerminationOptionProperty
+                .builder()
+                .action(CODE_DEPLOY_TERMINATE)
+                .terminationWaitTimeInMinutes(conf.getBlueTerminationWaitMinutes())
+                .build())
+        .build();
+    var deploymentStyle = CfnDeploymentGroup.DeploymentStyleProperty
+        .builder()
+        .deploymentType(CODE_DEPLOY_BLUE_GREEN)
+        .deploymentOption(CODE_DEPLOY_WITH_TRAFFIC_CONTROL)
+        .build();
+    var ecsService = CfnDeploymentGroup.ECSServiceProperty
+        .builder()
+        .clusterName(netOutputParameters.getEcsClusterName())
+        .serviceName(service.getAttrName())
+        .build();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-codedeploy-application.html
+    var application = CfnApplication.Builder.create(scope, "codeDeployApplication")
+                                            .computePlatform(CODE_DEPLOY_COMPUTE_PLATFORM_ECS)
+                                            .build();
+    var serviceRole
+        = Role.Builder.create(scope, "codeDeployServiceRole")
+                      .assumedBy(ServicePrincipal.Builder.create(CODE_DEPLOY_AMAZONAWS_PRINCIPAL)
+                                                         .build())
+                      .managedPolicies(List.of(ManagedPolicy.fromAwsManagedPolicyName(
+                          CODE_DEPLOY_ECS_MANAGED_POLICY)))
+                      .build();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-codedeploy-deploymentgroup.html
+    var deploymentGroup
+        = CfnDeploymentGroup.Builder.create(scope, "codeDeployDeploymentGroup")
+                                    .applicationName(application.getRef())
+                                    .serviceRoleArn(serviceRole.getRoleArn())
+                                    .deploymentConfigName(deploymentConfigName(scope, conf))
+                                    .deploymentStyle(deploymentStyle)
+                                    .blueGreenDeploymentConfiguration(blueGreenConf)
+                                    .ecsServices(List.of(ecsService))
+                                    .loadBalancerInfo(loadBalancerInfo)
+                                    .alarmConfiguration(alarmConf)
+                                    .autoRollbackConfiguration(rollbackConf)
+                                    .build();
+    deploymentGroup.addDependsOn(service);
+    return deploymentGroup;
+  }
+
+  private static String deploymentConfigName(Construct scope, BlueGreenDeployment conf) {
+    var type = conf.getTrafficRoutingType();
+    if (TRAFFIC_ROUTING_ALL_AT_ONCE.equals(type)) {
+      return CODE_DEPLOY_ECS_ALL_AT_ONCE;
+    }
+    var percentage = conf.getTrafficShiftPercentage();
+    if (percentage < 1 || percentage > 99) {
+      throw new IllegalArgumentException("The traffic shift percentage must be between 1 and 99");
+    }
+    var interval = conf.getTrafficShiftIntervalMinutes();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-codedeploy-deploymentconfig-trafficroutingconfig.html
+    var trafficRoutingBuilder = CfnDeploymentConfig.TrafficRoutingConfigProperty.builder()
+                                                                                .type(type);
+    if (TRAFFIC_ROUTING_CANARY.equals(type)) {
+      trafficRoutingBuilder.timeBasedCanary(CfnDeploymentConfig.TimeBasedCanaryProperty
+                                                .builder()
+                                                .canaryPercentage(percentage)
+                                                .canaryInterval(interval)
+                                                .build());
+    } else if (TRAFFIC_ROUTING_LINEAR.equals(type)) {
+      trafficRoutingBuilder.timeBasedLinear(CfnDeploymentConfig.TimeBasedLinearProperty
+                                                .builder()
+                                                .linearPercentage(percentage)
+                                                .linearInterval(interval)
+                                                .build());
+    } else {
+      throw new IllegalArgumentException("Unknown traffic routing type: " + type);
+    }
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-codedeploy-deploymentconfig.html
+    return CfnDeploymentConfig.Builder.create(scope, "codeDeployDeploymentConfig")
+                                      .computePlatform(CODE_DEPLOY_COMPUTE_PLATFORM_ECS)
+                                      .trafficRoutingConfig(trafficRoutingBuilder.build())
+                                      .build()
+                                      .getRef();
+  }
+
+  private static List<CfnAlarm> targetGroupAlarms(Construct scope, String idPrefix,
+                                                  CfnTargetGroup targetGroup,
+                                                  String loadBalancerFullName,
+                                                  BlueGreenDeployment conf) {
+    // https://docs.aws.amazon.com/elasticloadbalancing/latest/application/load-balancer-cloudwatch-metrics.html
+    var dimensions = List.of(CfnAlarm.DimensionProperty
+                                 .builder()
+                                 .name(ALB_DIMENSION_TARGET_GROUP)
+                                 .value(targetGroup.getAttrTargetGroupFullName())
+                                 .build(),
+                             CfnAlarm.DimensionProperty.builder()
+                                                       .name(ALB_DIMENSION_LOAD_BALANCER)
+                                                       .value(loadBalancerFullName)
+                                                       .build());
+    var alarms = new ArrayList<CfnAlarm>();
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-cloudwatch-alarm.html
+    var http5xxThreshold = conf.getHttp5xxAlarmThreshold();
+    if (http5xxThreshold != null) {
+      alarms.add(CfnAlarm.Builder.create(scope, idPrefix + "Http5xxAlarm")
+                                 .alarmDescription("Target 5xx responses during deployment")
+                                 .namespace(ALB_METRICS_NAMESPACE)
+                                 .metricName(ALB_METRIC_TARGET_5XX_COUNT)
+                                 .dimensions(dimensions)
+                                 .statistic(ALARM_STATISTIC_SUM)
+                                 .period(conf.getAlarmPeriodSeconds())
+                                 .evaluationPeriods(conf.getAlarmEvaluationPeriods())
+                                 .threshold(http5xxThreshold)
+                                 .comparisonOperator(ALARM_GREATER_THAN_OR_EQUAL_TO_THRESHOLD)
+                                 .treatMissingData(ALARM_TREAT_MISSING_DATA_NOT_BREACHING)
+                                 .build());
+    }
+    var latencyThreshold = conf.getLatencyAlarmThresholdSeconds();
+    if (latencyThreshold != null) {
+      alarms.add(CfnAlarm.Builder.create(scope, idPrefix + "LatencyAlarm")
+                                 .alarmDescription("Target response time during deployment")
+                                 .namespace(ALB_METRICS_NAMESPACE)
+                                 .metricName(ALB_METRIC_TARGET_RESPONSE_TIME)
+                                 .dimensions(dimensions)
+                                 .extendedStatistic("p" + conf.getLatencyAlarmPercentile())
+                                 .period(conf.getAlarmPeriodSeconds())
+                                 .evaluationPeriods(conf.getAlarmEvaluationPeriods())
+                                 .threshold(latencyThreshold)
+                                 .comparisonOperator(ALARM_GREATER_THAN_THRESHOLD)
+                                 .treatMissingData(ALARM_TREAT_MISSING_DATA_NOT_BREACHING)
+                                 .build());
+    }
+    return alarms;
+  }
+
+  private static List<ScheduledCapacity> scheduledCapacities(InputParameters params) {
+    return Optional.ofNullable(params.getScheduledCapacities()).orElse(emptyList());
+  }
+
+  private static CfnScalableTarget scalableTarget(Construct scope, CfnService service,
+                                                  AutoScalingParameters autoScaling,
+                                                  List<ScheduledCapacity> scheduledCapacities,
+                                                  Network.OutputParameters netOutputParameters) {
+    var resourceId = joinedString("/", "service", netOutputParameters.getEcsClusterName(),
+                                  service.getAttrName());
+    var roleArn = joinedString(":", "arn", Aws.PARTITION, "iam", "", Aws.ACCOUNT_ID,
+                               AUTO_SCALING_ECS_SERVICE_LINKED_ROLE);
+    var minCapacity = autoScaling.getMinInstancesCount();
+    var maxCapacity = autoScaling.getMaxInstancesCount();
+    if (minCapacity < 0 || minCapacity > maxCapacity) {
+      throw new IllegalArgumentException("Auto scaling instances count must satisfy "
+                                         + "0 <= min <= max");
+    }
+    var scheduledActions = scheduledCapacities.stream()
+                                              .map(ElasticContainerService::scheduledAction)
+                                              .toList();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-applicationautoscaling-scalabletarget.html
+    return CfnScalableTarget.Builder.create(scope, "ecsScalableTarget")
+                                    .serviceNamespace(AUTO_SCALING_SERVICE_NAMESPACE_ECS)
+                                    .scalableDimension(AUTO_SCALING_DIMENSION_DESIRED_COUNT)
+                                    .resourceId(resourceId)
+                                    .roleArn(roleArn)
+                                    .minCapacity(minCapacity)
+                                    .maxCapacity(maxCapacity)
+                                    .scheduledActions(scheduledActions)
+                                    .build();
+  }
+
+  private static CfnScalableTarget.ScheduledActionProperty scheduledAction(
+      ScheduledCapacity scheduledCapacity
+                                                                          ) {
+    var minInstancesCount = scheduledCapacity.getMinInstancesCount();
+    var maxInstancesCount = scheduledCapacity.getMaxInstancesCount();
+    if ((minInstancesCount != null && minInstancesCount < 0)
+        || (minInstancesCount != null && maxInstancesCount != null
+            && minInstancesCount > maxInstancesCount)) {
+      throw new IllegalArgumentException("Scheduled capacity instances count must satisfy "
+                                         + "0 <= min <= max");
+    }
+    var targetAction = CfnScalableTarget.ScalableTargetActionProperty
+        .builder()
+        .minCapacity(minInstancesCount)
+        .maxCapacity(maxInstancesCount)
+        .build();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-properties-applicationautoscaling-scalabletarget-scheduledaction.html
+    return CfnScalableTarget.ScheduledActionProperty
+        .builder()
+        .scheduledActionName(Objects.requireNonNull(scheduledCapacity.getName()))
+        .schedule(Objects.requireNonNull(scheduledCapacity.getSchedule()))
+        .timezone(scheduledCapacity.getTimezone())
+        .scalableTargetAction(targetAction)
+        .build();
+  }
+
+  private static void targetTrackingScalingPolicies(Construct scope,
+                                                    CfnScalableTarget scalableTarget,
+                                                    CfnTargetGroup targetGroup,
+                                                    AutoScalingParameters params,
+                                                    Network.OutputParameters netOutputParameters) {
+    var cpuTarget = params.getCpuUtilizationTargetPercent();
+    if (cpuTarget != null) {
+      targetTrackingScalingPolicy(scope, "ecsCpuScalingPolicy", scalableTarget,
+                                  AUTO_SCALING_METRIC_CPU, null, cpuTarget, params);
+    }
+    var memoryTarget = params.getMemoryUtilizationTargetPercent();
+    if (memoryTarget != null) {
+      targetTrackingScalingPolicy(scope, "ecsMemoryScalingPolicy", scalableTarget,
+                                  AUTO_SCALING_METRIC_MEMORY, null, memoryTarget, params);
+    }
+    var requestCountTarget = params.getRequestCountPerTarget();
+    if (requestCountTarget != null) {
+      // https://docs.aws.amazon.com/autoscaling/application/APIReference/API_PredefinedMetricSpecification.html
+      var resourceLabel = joinedString("/", loadBalancerFullName(netOutputParameters),
+                                       targetGroup.getAttrTargetGroupFullName());
+      targetTrackingScalingPolicy(scope, "ecsRequestCountScalingPolicy", scalableTarget,
+                                  AUTO_SCALING_METRIC_REQUEST_COUNT, resourceLabel,
+                                  requestCountTarget, params);
+    }
+  }
+
+  private static CfnScalingPolicy targetTrackingScalingPolicy(Construct scope, String id,
+                                                              CfnScalableTarget scalableTarget,
+                                                              String metricType,
+                                                              String resourceLabel,
+                                                              Number targetValue,
+                                                              AutoScalingParameters params) {
+    var metricSpecification
+        = CfnScalingPolicy.PredefinedMetricSpecificationProperty.builder()
+                                                                .predefinedMetricType(metricType)
+                                                                .resourceLabel(resourceLabel)
+                                                                .build();
+    var policyConf = CfnScalingPolicy.TargetTrackingScalingPolicyConfigurationProperty
+        .builder()
+        .predefinedMetricSpecification(metricSpecification)
+        .targetValue(targetValue)
+        .scaleInCooldown(params.getScaleInCooldownSeconds())
+        .scaleOutCooldown(params.getScaleOutCooldownSeconds())
+        .build();
+
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-applicationautoscaling-scalingpolicy.html
+    return CfnScalingPolicy.Builder.create(scope, id)
+                                   .policyName(id)
+                                   .policyType(AUTO_SCALING_POLICY_TYPE_TARGET_TRACKING)
+                                   .scalingTargetId(scalableTarget.getRef())
+                                   .targetTrackingScalingPolicyConfiguration(policyConf)
+                                   .build();
+  }
+
+  private static String loadBalancerFullName(Network.OutputParameters netOutputParameters) {
+    // arn:${Partition}:elasticloadbalancing:${Region}:${Account}:loadbalancer/app/${Name}/${Id}
+    var arnParts = Fn.split("/", netOutputParameters.getLoadBalancerArn());
+    return Fn.join("/", List.of(Fn.select(1, arnParts), Fn.select(2, arnParts),
+                                Fn.select(3, arnParts)));
   }
   // endregion
 
@@ -453,6 +1659,12 @@ public final class ElasticContainerService extends Construct {
     private Map<String, String> environmentVariables = emptyMap();
     @lombok.Builder.Default
     private List<String> securityGroupIdsToGrantIngressFromEcs = emptyList();
+    /**
+     * Security groups whose members can access the ECS containers directly, such as other services
+     * calling this one through service discovery.
+     */
+    @lombok.Builder.Default
+    private List<String> securityGroupIdsToAllowIngressToEcs = emptyList();
     @lombok.Builder.Default
     private List<PolicyStatement> taskRolePolicyStatements = emptyList();
     @lombok.Builder.Default
@@ -479,6 +1691,10 @@ public final class ElasticContainerService extends Construct {
     private int cpu = 256;
     @lombok.Builder.Default
     private int memory = 512;
+    /**
+     * Number of tasks the service runs. If {@code autoScaling} is set, it isn't set in the
+     * service, so the scaled tasks count isn't reset on every stack update.
+     */
     @lombok.Builder.Default
     private int desiredInstancesCount = 2;
     @lombok.Builder.Default
@@ -488,14 +1704,619 @@ public final class ElasticContainerService extends Construct {
     private boolean stickySessionsEnabled;
     @lombok.Builder.Default
     private int stickySessionsCookieDuration = 3600;
+    /**
+     * Time period, in seconds, during which a newly registered task receives an increasing share
+     * of the traffic (30 to 900, 0 disables it). If not set, the load balancer default is used.
+     * It can't be used together with the least outstanding requests algorithm.
+     */
+    private Integer slowStartDurationSeconds;
+    /**
+     * Time, in seconds, the load balancer waits before deregistering a draining task. If not set,
+     * the load balancer default (300 seconds) is used.
+     */
+    private Integer deregistrationDelaySeconds;
+    /**
+     * Algorithm used to route requests to the tasks. If not set, the load balancer default is
+     * used.
+     *
+     * @see ElasticContainerService#LOAD_BALANCING_ALGORITHM_ROUND_ROBIN
+     * @see ElasticContainerService#LOAD_BALANCING_ALGORITHM_LEAST_OUTSTANDING_REQUESTS
+     */
+    private String loadBalancingAlgorithm;
+    /**
+     * Protocol version used by the load balancer to send the requests to the tasks. HTTP/2 and
+     * gRPC are only supported through the HTTPS listener of the network, which must exist (see
+     * {@link #isHttpsListenerAvailable()}), so no rule forwarding to the service is created in its
+     * HTTP listener. If not set, HTTP/1.1 is used.
+     *
+     * @see ElasticContainerService#PROTOCOL_VERSION_HTTP1
+     * @see ElasticContainerService#PROTOCOL_VERSION_HTTP2
+     * @see ElasticContainerService#PROTOCOL_VERSION_GRPC
+     */
+    private String protocolVersion;
+    /**
+     * Whether the network has an HTTPS listener, that is, it was created with an SSL certificate.
+     * The listener arn read from the network is only resolved at deploy time, so this flag is
+     * required to use the HTTP/2 and gRPC protocol versions.
+     */
+    private boolean httpsListenerAvailable;
+    /**
+     * Codes of a successful health check response: HTTP codes (i.e.: {@code 200-299}) or, if the
+     * protocol version is gRPC, gRPC codes (i.e.: {@code 0}, {@code 0-99}). If not set, the load
+     * balancer default ({@code 200} and {@code 12} respectively) is used.
+     */
+    private String healthCheckMatcher;
+    /**
+     * Path patterns of the requests forwarded to the service by the load balancer listeners. If
+     * empty, the requests to any path are forwarded.
+     */
+    @lombok.Builder.Default
+    private List<String> listenerRulePathPatterns = emptyList();
+    /**
+     * Host names (Host header) of the requests forwarded to the service by the load balancer
+     * listeners. If empty, the requests to any host are forwarded.
+     */
+    @lombok.Builder.Default
+    private List<String> listenerRuleHostHeaders = emptyList();
+    /**
+     * HTTP methods (i.e.: GET, HEAD) of the requests forwarded to the service by the load balancer
+     * listeners, so, for instance, the read requests can be routed to a service scaled apart from
+     * the one handling the writes. If empty, the requests with any method are forwarded.
+     */
+    @lombok.Builder.Default
+    private List<String> listenerRuleHttpMethods = emptyList();
+    /**
+     * Priority (1 to 50000, lowest first) of the listener rules forwarding the requests to the
+     * service. It must be unique among the services sharing the load balancer of the network. If
+     * not set, it's derived from the application environment, which doesn't guarantee it's
+     * unique.
+     */
+    private Integer listenerRulePriority;
+    /**
+     * Whether other services have rules in the load balancer listeners of the network. If set,
+     * the {@link #listenerRulePriority} and the priorities of the
+     * {@link #listenerResponseRules} are required, since the derived ones might collide with the
+     * rules of the other services.
+     */
+    private boolean listenerShared;
+    /**
+     * Rules answered by the load balancer itself, such as health pings or redirects of legacy
+     * URLs, so those requests don't reach the service containers.
+     */
+    @lombok.Builder.Default
+    private List<ListenerResponseRule> listenerResponseRules = emptyList();
+    /**
+     * Seconds the service ignores the load balancer health checks of a newly started task, so slow
+     * starting applications are not killed while warming up.
+     */
+    private Integer healthCheckGracePeriodSeconds;
+    /**
+     * Docker health check run by the container agent in the application container. If not set,
+     * only the load balancer health check is used.
+     */
+    private ContainerHealthCheck containerHealthCheck;
+    /**
+     * Seconds to wait for the application container dependencies to be resolved before giving up.
+     */
+    private Integer containerStartTimeoutSeconds;
+    /**
+     * Seconds to wait for the application container to exit on its own after receiving a SIGTERM,
+     * before it's forcefully killed.
+     */
+    private Integer containerStopTimeoutSeconds;
+    /**
+     * Whether an init process is run as PID 1 in the application container, so signals are
+     * forwarded and zombie processes are reaped.
+     */
+    private boolean initProcessEnabled;
+    /**
+     * If set, the JVM options of the application container are derived from the cpu and memory
+     * left to it in the task.
+     */
+    private JvmProfile jvmProfile;
+    /**
+     * If set, the service tasks are registered with this name in the Cloud Map namespace of the
+     * network, so other services in the VPC can call them directly at
+     * {@code <serviceDiscoveryName>.<namespaceName>}, without going through the load balancer.
+     * The security groups of the callers must be allowed in
+     * {@link #getSecurityGroupIdsToAllowIngressToEcs()}.
+     * <p>
+     * The network must have been created with a namespace name, otherwise the deployment fails.
+     * This is Cloud Map DNS discovery, not ECS Service Connect, which the CDK version used doesn't
+     * support yet, so there's no client side load balancing or retries: callers resolve the A
+     * records of the healthy tasks themselves.
+     *
+     * @see Network.InputParameters#getServiceDiscoveryNamespaceName()
+     */
+    private String serviceDiscoveryName;
+    @lombok.Builder.Default
+    private int serviceDiscoveryDnsTtlSeconds = 10;
+    /**
+     * Whether a deployment is stopped as failed when its tasks can't reach a steady state, instead
+     * of retrying to launch them indefinitely.
+     */
+    private boolean deploymentCircuitBreakerEnabled;
+    /**
+     * Whether a deployment stopped by the circuit breaker is rolled back to the last completed
+     * deployment. Only used if {@link #isDeploymentCircuitBreakerEnabled()} is {@code true}.
+     */
+    @lombok.Builder.Default
+    private boolean deploymentRollbackEnabled = true;
+    /**
+     * Whether the tasks are placed in the private subnets of the network, without a public IP,
+     * instead of in the public ones. The network must have been created with private subnets.
+     *
+     * @see Network.InputParameters#getNumberOfPrivateSubnetsPerAZ()
+     */
+    private boolean privateSubnetsPlacement;
+    /**
+     * If set, the service is deployed with blue/green deployments managed by CodeDeploy instead of
+     * rolling updates.
+     *
+     * @see BlueGreenDeployment
+     */
+    private BlueGreenDeployment blueGreenDeployment;
     @lombok.Builder.Default
     private String awsLogsDateTimeFormat = "%Y-%m-%dT%H:%M:%S.%f%z";
+    /**
+     * Whether the awslogs driver buffers the logs in memory, instead of blocking the containers
+     * writing to stdout/stderr when CloudWatch can't keep up. Logs are lost if the buffer fills up.
+     */
+    private boolean awsLogsNonBlocking;
+    /**
+     * Size of the in-memory buffer used when {@link #isAwsLogsNonBlocking()} is {@code true}.
+     */
+    @lombok.Builder.Default
+    private String awsLogsMaxBufferSize = "25m";
+    /**
+     * If set, the application container logs are sent through a FireLens log router sidecar
+     * instead of going directly to CloudWatch with the awslogs driver.
+     */
+    private FireLensRouter fireLensRouter;
+    /**
+     * Auto scaling configuration for the ECS service. If not set, the service keeps running with
+     * a fixed number of tasks ({@code desiredInstancesCount}).
+     */
+    private AutoScalingParameters autoScaling;
+    /**
+     * Capacity windows applied to the ECS service on a schedule, so the tasks are in place before
+     * a predictable load arrives. They require {@code autoScaling}, whose bounds they replace from
+     * the scheduled time on.
+     */
+    @lombok.Builder.Default
+    private List<ScheduledCapacity> scheduledCapacities = emptyList();
+    /**
+     * Capacity providers the service tasks are spread across. If empty, the tasks are run with the
+     * FARGATE launch type. The ECS cluster must have the capacity providers associated.
+     *
+     * @see Network.InputParameters#isFargateCapacityProvidersEnabled()
+     */
+    @lombok.Builder.Default
+    private List<CapacityProviderStrategyItem> capacityProviderStrategy = emptyList();
+    /**
+     * CPU architecture the tasks run on. The Docker image must be declared as built for it, and
+     * ARM64 can't be used with the {@link ElasticContainerService#CAPACITY_PROVIDER_FARGATE_SPOT}
+     * capacity provider. If neither this nor {@code operatingSystemFamily} are set, no runtime
+     * platform is set in the task definition and the Fargate default (X86_64 Linux) is used.
+     *
+     * @see ElasticContainerService#CPU_ARCHITECTURE_X86_64
+     * @see ElasticContainerService#CPU_ARCHITECTURE_ARM64
+     * @see DockerImage#getCpuArchitectures()
+     */
+    private String cpuArchitecture;
+    /**
+     * Operating system family the tasks run on.
+     *
+     * @see ElasticContainerService#OPERATING_SYSTEM_FAMILY_LINUX
+     */
+    private String operatingSystemFamily;
+    /**
+     * Additional containers run in the same task as the application container. The cpu and memory
+     * reserved for them are taken from the task cpu and memory.
+     */
+    @lombok.Builder.Default
+    private List<SidecarContainer> sidecarContainers = emptyList();
+    /**
+     * Names of the task volumes which can be shared among the containers of the task.
+     */
+    @lombok.Builder.Default
+    private List<String> sharedVolumes = emptyList();
+    /**
+     * Container paths where the shared volumes are mounted in the application container, by
+     * volume name.
+     */
+    @lombok.Builder.Default
+    private Map<String, String> mountPoints = emptyMap();
+    /**
+     * Conditions of other containers in the task the application container depends on to start,
+     * by container name.
+     *
+     * @see ElasticContainerService#CONTAINER_CONDITION_START
+     * @see ElasticContainerService#CONTAINER_CONDITION_HEALTHY
+     */
+    @lombok.Builder.Default
+    private Map<String, String> containerDependencies = emptyMap();
 
     String getHealthCheckPortString() {
       return Objects.nonNull(healthCheckPort) ? String.valueOf(healthCheckPort) : "";
     }
   }
 
+  /**
+   * Holds the configuration to scale the ECS service tasks with target-tracking policies. A
+   * policy is only created for those targets which are set.
+   *
+   * @see <a href="https://docs.aws.amazon.com/AmazonECS/latest/developerguide/service-autoscaling-targettracking.html">Target tracking scaling policies</a>
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class AutoScalingParameters {
+    @lombok.Builder.Default
+    private int minInstancesCount = 1;
+    @lombok.Builder.Default
+    private int maxInstancesCount = 4;
+    /**
+     * Target value for the average CPU utilization (percentage) of the service tasks.
+     */
+    private Integer cpuUtilizationTargetPercent;
+    /**
+     * Target value for the average memory utilization (percentage) of the service tasks.
+     */
+    private Integer memoryUtilizationTargetPercent;
+    /**
+     * Target value for the number of requests completed per task in the service target group.
+     */
+    private Integer requestCountPerTarget;
+    @lombok.Builder.Default
+    private int scaleInCooldownSeconds = 300;
+    @lombok.Builder.Default
+    private int scaleOutCooldownSeconds = 60;
+  }
+
+  /**
+   * Holds the configuration of a FireLens log router (Fluent Bit) run as a sidecar of the
+   * application container. The application logs are buffered and sent in batches by the router, so
+   * the application isn't blocked by the log destination. The router cpu and memory are taken from
+   * the task resources, as the ones of any other sidecar container.
+   *
+   * @see <a href="https://docs.aws.amazon.com/AmazonECS/latest/developerguide/using_firelens.html">Custom log routing</a>
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class FireLensRouter {
+    public static final String OUTPUT_CLOUDWATCH_LOGS = "cloudwatch_logs";
+    public static final String OUTPUT_KINESIS_FIREHOSE = "kinesis_firehose";
+    public static final String OUTPUT_S3 = "s3";
+
+    @lombok.Builder.Default
+    private String image = "public.ecr.aws/aws-observability/aws-for-fluent-bit:stable";
+    @lombok.Builder.Default
+    private int cpu = 32;
+    @lombok.Builder.Default
+    private int memory = 64;
+    /**
+     * Fluent Bit output plugin the application logs are sent to. If it is
+     * {@link #OUTPUT_CLOUDWATCH_LOGS}, the logs go to the log group of the service, which the task
+     * role is allowed to write to.
+     */
+    @lombok.Builder.Default
+    private String outputPlugin = OUTPUT_CLOUDWATCH_LOGS;
+    /**
+     * Compression of the batches sent by the output plugin, such as {@code gzip}. Not supported by
+     * {@link #OUTPUT_CLOUDWATCH_LOGS}.
+     */
+    private String compression;
+    /**
+     * Any other option of the output plugin, such as {@code total_file_size} and
+     * {@code upload_timeout} to tune the size of the batches sent by {@link #OUTPUT_S3}.
+     */
+    @lombok.Builder.Default
+    private Map<String, String> outputOptions = emptyMap();
+    @lombok.Builder.Default
+    private boolean ecsLogMetadataEnabled = true;
+    /**
+     * Path, inside the router image, of a custom Fluent Bit configuration file, such as one setting
+     * the flush interval or the buffer limits.
+     */
+    private String configFile;
+  }
+
+  /**
+   * Holds the configuration of the blue/green deployments of an ECS service. A second (green)
+   * target group is created and the listener rules forward the traffic to both target groups with
+   * weights, which CodeDeploy shifts from the blue to the green one in steps while it watches the
+   * 5xx and latency alarms of both target groups. If any alarm goes off, the deployment is stopped
+   * and the traffic is sent back to the previous version.
+   * <p>
+   * Once the ECS service is created, new versions must be deployed by creating CodeDeploy
+   * deployments (for instance, with {@code aws ecs deploy}), as CloudFormation can't update the
+   * task definition of a service using the CodeDeploy deployment controller.
+   * </p>
+   *
+   * @see <a href="https://docs.aws.amazon.com/AmazonECS/latest/developerguide/deployment-type-bluegreen.html">Blue/green deployment with CodeDeploy</a>
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class BlueGreenDeployment {
+    /**
+     * How the traffic is shifted to the new version.
+     *
+     * @see ElasticContainerService#TRAFFIC_ROUTING_CANARY
+     * @see ElasticContainerService#TRAFFIC_ROUTING_LINEAR
+     * @see ElasticContainerService#TRAFFIC_ROUTING_ALL_AT_ONCE
+     */
+    @lombok.Builder.Default
+    private String trafficRoutingType = TRAFFIC_ROUTING_CANARY;
+    /**
+     * Percentage of the traffic shifted in the first step (canary) or in each step (linear).
+     */
+    @lombok.Builder.Default
+    private int trafficShiftPercentage = 5;
+    /**
+     * Minutes between the traffic shift steps.
+     */
+    @lombok.Builder.Default
+    private int trafficShiftIntervalMinutes = 10;
+    /**
+     * Minutes to keep the tasks of the previous version after the deployment succeeds.
+     */
+    @lombok.Builder.Default
+    private int blueTerminationWaitMinutes = 5;
+    /**
+     * Whether the production traffic goes through the HTTPS listener of the network instead of the
+     * HTTP one.
+     */
+    private boolean httpsTrafficRoute;
+    /**
+     * Number of 5xx responses per alarm period that stops the deployment. If {@code null}, no 5xx
+     * alarm is created.
+     */
+    @lombok.Builder.Default
+    private Integer http5xxAlarmThreshold = 5;
+    /**
+     * Response time, in seconds, that stops the deployment when exceeded by the
+     * {@link #getLatencyAlarmPercentile()} of the requests. If {@code null}, no latency alarm is
+     * created.
+     */
+    @lombok.Builder.Default
+    private Double latencyAlarmThresholdSeconds = 1D;
+    @lombok.Builder.Default
+    private int latencyAlarmPercentile = 99;
+    @lombok.Builder.Default
+    private int alarmPeriodSeconds = 60;
+    @lombok.Builder.Default
+    private int alarmEvaluationPeriods = 2;
+  }
+
+  /**
+   * Holds the configuration of a listener rule answered by the load balancer with a fixed response
+   * or a redirect, instead of forwarding the matched requests to the service. Either
+   * {@code fixedResponseStatusCode} or {@code redirectStatusCode} must be set.
+   *
+   * @see <a href="https://docs.aws.amazon.com/elasticloadbalancing/latest/application/load-balancer-listeners.html#rule-action-types">Rule action types</a>
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class ListenerResponseRule {
+    @lombok.Builder.Default
+    private List<String> pathPatterns = emptyList();
+    @lombok.Builder.Default
+    private List<String> hostHeaders = emptyList();
+    /**
+     * Priority (1 to 50000, lowest first) of the rule. If not set, it's derived (best-effort, see
+     * {@link InputParameters#isListenerShared()}) from the application environment and the rule
+     * conditions, so it's evaluated before the rules forwarding to the services.
+     */
+    private Integer priority;
+    /**
+     * Status code (2XX, 4XX or 5XX) of the fixed response.
+     */
+    private String fixedResponseStatusCode;
+    @lombok.Builder.Default
+    private String fixedResponseContentType = FIXED_RESPONSE_CONTENT_TYPE_TEXT_PLAIN;
+    private String fixedResponseBody;
+    /**
+     * Status code of the redirect.
+     *
+     * @see ElasticContainerService#REDIRECT_STATUS_CODE_PERMANENT
+     * @see ElasticContainerService#REDIRECT_STATUS_CODE_TEMPORARY
+     */
+    private String redirectStatusCode;
+    /**
+     * Parts of the redirect URL. The ones not set are taken from the original request.
+     */
+    private String redirectProtocol;
+    private String redirectHost;
+    private String redirectPort;
+    private String redirectPath;
+    private String redirectQuery;
+  }
+
+  /**
+   * Holds the configuration used to derive the JVM options of the application container from the
+   * cpu and memory left to it in the task. The options are set in the {@code JAVA_TOOL_OPTIONS}
+   * environment variable, before any value already given to it in
+   * {@link InputParameters#getEnvironmentVariables()}, so the latter take precedence.
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class JvmProfile {
+    public static final String GC_SERIAL = "SerialGC";
+    public static final String GC_PARALLEL = "ParallelGC";
+    public static final String GC_G1 = "G1GC";
+    public static final String GC_Z = "ZGC";
+
+    // below these resources the JVM doesn't consider the machine as "server class"
+    private static final int SERVER_CLASS_MIN_CPU = 2048;
+    private static final int SERVER_CLASS_MIN_MEMORY = 1792;
+    private static final int CPU_UNITS_PER_VCPU = 1024;
+
+    /**
+     * Percentage of the container memory used as maximum heap size.
+     */
+    @lombok.Builder.Default
+    private int maxRamPercentage = 75;
+    /**
+     * Percentage of the container memory used as initial heap size. If not set, the JVM default
+     * is used.
+     */
+    private Integer initialRamPercentage;
+    /**
+     * Garbage collector to use. If not set, {@link #GC_SERIAL} is used for containers with less
+     * than 2 vCPUs or 1792 MiB, and {@link #GC_G1} otherwise.
+     */
+    private String garbageCollector;
+    @lombok.Builder.Default
+    private int maxMetaspaceSizeMb = 256;
+    /**
+     * Any other option to append to the derived ones.
+     */
+    @lombok.Builder.Default
+    private List<String> additionalOptions = emptyList();
+
+    String javaToolOptions(int cpu, int memory) {
+      if (maxRamPercentage < 1 || maxRamPercentage > 100) {
+        throw new IllegalArgumentException("The max RAM percentage must be between 1 and 100");
+      }
+      var gc = Optional.ofNullable(garbageCollector)
+                       .orElse(cpu < SERVER_CLASS_MIN_CPU || memory < SERVER_CLASS_MIN_MEMORY
+                               ? GC_SERIAL
+                               : GC_G1);
+      // a fraction of vCPU is still seen as 1 processor by the JVM
+      var activeProcessorCount = Math.max(1, (cpu + CPU_UNITS_PER_VCPU - 1) / CPU_UNITS_PER_VCPU);
+
+      var options = new ArrayList<String>();
+      options.add("-XX:MaxRAMPercentage=" + maxRamPercentage);
+      if (initialRamPercentage != null) {
+        options.add("-XX:InitialRAMPercentage=" + initialRamPercentage);
+      }
+      options.add("-XX:+Use" + gc);
+      options.add("-XX:ActiveProcessorCount=" + activeProcessorCount);
+      options.add("-XX:MaxMetaspaceSize=" + maxMetaspaceSizeMb + "m");
+      options.add("-XX:+ExitOnOutOfMemoryError");
+      options.addAll(Optional.ofNullable(additionalOptions).orElse(emptyList()));
+
+      return String.join(" ", options);
+    }
+  }
+
+  /**
+   * Holds the configuration of a Docker health check run in a container.
+   *
+   * @see <a href="https://docs.aws.amazon.com/AmazonECS/latest/APIReference/API_HealthCheck.html">HealthCheck</a>
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class ContainerHealthCheck {
+    /**
+     * Command to run, such as {@code ["CMD-SHELL", "curl -f http://localhost:8080/ || exit 1"]}.
+     */
+    private List<String> command;
+    @lombok.Builder.Default
+    private int intervalSeconds = 30;
+    @lombok.Builder.Default
+    private int timeoutSeconds = 5;
+    @lombok.Builder.Default
+    private int retries = 3;
+    /**
+     * Grace period for the container to bootstrap before failed health checks count towards the
+     * retries.
+     */
+    private int startPeriodSeconds;
+  }
+
+  /**
+   * Holds the configuration of a container run next to the application container in the same
+   * task, such as a reverse proxy or a metrics agent.
+   *
+   * @see ElasticContainerService#containerName(ApplicationEnvironment)
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class SidecarContainer {
+    /**
+     * Name of the container. It must be unique within the task.
+     */
+    private String name;
+    /**
+     * URL of the Docker image to run in the container.
+     */
+    private String image;
+    private Integer cpu;
+    private Integer memory;
+    /**
+     * Whether the task is stopped if this container stops.
+     */
+    @lombok.Builder.Default
+    private boolean essential = true;
+    @lombok.Builder.Default
+    private List<Integer> ports = emptyList();
+    @lombok.Builder.Default
+    private Map<String, String> environmentVariables = emptyMap();
+    /**
+     * Container paths where the shared volumes are mounted, by volume name.
+     */
+    @lombok.Builder.Default
+    private Map<String, String> mountPoints = emptyMap();
+    /**
+     * Conditions of other containers in the task this container depends on to start, by container
+     * name.
+     */
+    @lombok.Builder.Default
+    private Map<String, String> containerDependencies = emptyMap();
+  }
+
+  /**
+   * Holds the configuration of one of the capacity providers the ECS service tasks are placed in.
+   *
+   * @see ElasticContainerService#CAPACITY_PROVIDER_FARGATE
+   * @see ElasticContainerService#CAPACITY_PROVIDER_FARGATE_SPOT
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class CapacityProviderStrategyItem {
+    private String capacityProvider;
+    /**
+     * Minimum number of tasks to run in this capacity provider. Only one capacity provider in the
+     * strategy can have a base defined.
+     */
+    private int base;
+    /**
+     * Relative percentage of the total number of tasks (after the base is satisfied) that should
+     * use this capacity provider.
+     */
+    @lombok.Builder.Default
+    private int weight = 1;
+  }
+
+  /**
+   * Holds the configuration of a scheduled action which sets the minimum and/or maximum number of
+   * tasks of the ECS service at a given time.
+   *
+   * @see <a href="https://docs.aws.amazon.com/autoscaling/application/userguide/application-auto-scaling-scheduled-scaling.html">Scheduled scaling</a>
+   */
+  @lombok.Builder
+  @Getter(AccessLevel.PACKAGE)
+  public static final class ScheduledCapacity {
+    /**
+     * Name of the scheduled action. It must be unique among the service scheduled actions.
+     */
+    private String name;
+    /**
+     * Schedule expression, such as {@code cron(0 7 ? * MON-FRI *)}, {@code rate(1 day)} or
+     * {@code at(2022-07-01T00:00:00)}.
+     */
+    private String schedule;
+    @lombok.Builder.Default
+    private String timezone = "UTC";
+    /**
+     * Minimum number of tasks from the scheduled time on. Since the service desired count is never
+     * lower than this value, it can be used to set the desired capacity in advance.
+     */
+    private Integer minInstancesCount;
+    private Integer maxInstancesCount;
+  }
+
   @lombok.Builder
   @Getter(AccessLevel.PACKAGE)
   public static final class DockerImage {
@@ -505,10 +2326,22 @@ public final class ElasticContainerService extends Construct {
     private String dockerRepositoryName;
     private String dockerImageTag;
     private String dockerImageUrl;
+    /**
+     * CPU architectures the image is built for (more than one for multi-arch images). If empty,
+     * the image is assumed to be built for {@link ElasticContainerService#CPU_ARCHITECTURE_X86_64}.
+     */
+    @lombok.Builder.Default
+    private List<String> cpuArchitectures = emptyList();
 
     boolean isEcrSource() {
       return Objects.nonNull(dockerRepositoryName);
     }
+
+    boolean isBuiltFor(String cpuArchitecture) {
+      return cpuArchitectures == null || cpuArchitectures.isEmpty()
+             ? CPU_ARCHITECTURE_X86_64.equals(cpuArchitecture)
+             : cpuArchitectures.contains(cpuArchitecture);
+    }
   }
 
   @Getter(AccessLevel.PACKAGE)
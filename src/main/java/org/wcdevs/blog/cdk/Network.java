@@ -5,12 +5,19 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import software.amazon.awscdk.Duration;
 import software.amazon.awscdk.services.ec2.CfnSecurityGroupIngress;
+import software.amazon.awscdk.services.ec2.GatewayVpcEndpointAwsService;
+import software.amazon.awscdk.services.ec2.GatewayVpcEndpointOptions;
+import software.amazon.awscdk.services.ec2.IInterfaceVpcEndpointService;
 import software.amazon.awscdk.services.ec2.ISecurityGroup;
 import software.amazon.awscdk.services.ec2.ISubnet;
 import software.amazon.awscdk.services.ec2.IVpc;
+import software.amazon.awscdk.services.ec2.InterfaceVpcEndpointAwsService;
+import software.amazon.awscdk.services.ec2.InterfaceVpcEndpointOptions;
 import software.amazon.awscdk.services.ec2.SecurityGroup;
 import software.amazon.awscdk.services.ec2.SubnetConfiguration;
+import software.amazon.awscdk.services.ec2.SubnetSelection;
 import software.amazon.awscdk.services.ec2.SubnetType;
 import software.amazon.awscdk.services.ec2.Vpc;
 import software.amazon.awscdk.services.ecs.Cluster;
@@ -28,7 +35,9 @@ import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerAction;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerCertificate;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerCondition;
 import software.amazon.awscdk.services.elasticloadbalancingv2.RedirectOptions;
+import software.amazon.awscdk.services.elasticloadbalancingv2.SslPolicy;
 import software.amazon.awscdk.services.elasticloadbalancingv2.TargetType;
+import software.amazon.awscdk.services.servicediscovery.CfnPrivateDnsNamespace;
 import software.amazon.awscdk.services.ssm.StringParameter;
 import software.constructs.Construct;
 
@@ -36,19 +45,25 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.wcdevs.blog.cdk.Util.DASH_JOINER;
 import static org.wcdevs.blog.cdk.Util.joinedString;
+import static org.wcdevs.blog.cdk.Util.memoized;
 import static org.wcdevs.blog.cdk.Util.string;
 
 /**
  * Creates a base network for an application served by an ECS. The network stack will contain a VPC,
- * a configured number of public and isolated subnets (per AZ, default to one for each AZ), an ECS
+ * a configured number of public and isolated subnets (per AZ, default to one for each AZ), an
+ * optional number of private subnets with outbound internet access through NAT gateways, an ECS
  * cluster, and an internet-facing load balancer with an HTTP and an optional HTTPS listener. The
- * listeners can be used in other stacks to attach to an ECS service, for instance.
+ * listeners can be used in other stacks to attach to an ECS service, for instance. Optionally, a
+ * Cloud Map private DNS namespace can be created for the ECS services to discover each other, as
+ * well as VPC endpoints for the AWS services used by them.
  * <p>
  * The construct exposes some output parameters to be used by other constructs.
  * </p>
@@ -56,6 +71,7 @@ import static org.wcdevs.blog.cdk.Util.string;
  * @see Network#newInstance(Construct, String, ApplicationEnvironment, InputParameters)
  * @see Network#outputParametersFrom(Construct, ApplicationEnvironment)
  * @see Network#outputParametersFrom(Construct, ApplicationEnvironment, int, int, int)
+ * @see Network#outputParametersFrom(Construct, ApplicationEnvironment, int, int, int, int)
  */
 @Setter(AccessLevel.PRIVATE)
 @Getter(AccessLevel.PACKAGE)
@@ -71,10 +87,24 @@ public final class Network extends Construct {
   private static final String PARAM_LOAD_BALANCER_DNS_NAME = "lBDnsName";
   private static final String PARAM_LOAD_BALANCER_CANONICAL_HOSTED_ZONE_ID = "lBCanHostZoneId";
   private static final String PARAM_CLUSTER_NAME = "clusterName";
+  private static final String PARAM_CLUSTER_CONTAINER_INSIGHTS = "clusterContInsights";
   private static final String PARAM_AVAILABILITY_ZONES = "availabilityZn";
   private static final String PARAM_ISOLATED_SUBNETS = "isolatedSubNet";
   private static final String PARAM_PUBLIC_SUBNETS = "publicSubNet";
+  private static final String PARAM_PRIVATE_SUBNETS = "privateSubNet";
   private static final String PARAM_SSL_CERTIFICATE_ARN = "sslCertificateArn";
+  private static final String PARAM_SERVICE_DISCOVERY_NAMESPACE_ID = "sdNamespaceId";
+  private static final String PARAM_SERVICE_DISCOVERY_NAMESPACE_NAME = "sdNamespaceName";
+  private static final String PARAM_VPC_ENDPOINTS_SECURITY_GROUP_ID = "vpcEndpSecGroupId";
+  private static final String TCP_PROTOCOL = "tcp";
+  private static final int HTTPS_PORT = 443;
+  // https://docs.aws.amazon.com/elasticloadbalancing/latest/application/application-load-balancers.html#load-balancer-attributes
+  private static final String LOAD_BALANCER_DESYNC_MITIGATION_MODE
+      = "routing.http.desync_mitigation_mode";
+  private static final String LOAD_BALANCER_DROP_INVALID_HEADER_FIELDS
+      = "routing.http.drop_invalid_header_fields.enabled";
+  private static final int LOAD_BALANCER_MIN_IDLE_TIMEOUT = 1;
+  private static final int LOAD_BALANCER_MAX_IDLE_TIMEOUT = 4000;
   private static final String CONSTRUCT_NAME = "Network";
   // endregion
 
@@ -86,6 +116,8 @@ public final class Network extends Construct {
   private IApplicationLoadBalancer loadBalancer;
   private IApplicationListener httpListener;
   private IApplicationListener httpsListener;
+  private CfnPrivateDnsNamespace serviceDiscoveryNamespace;
+  private ISecurityGroup vpcEndpointsSecurityGroup;
   // endregion
 
   // region public constants
@@ -101,6 +133,11 @@ public final class Network extends Construct {
    * Number of public subnets that will be available for each AZ by default.
    */
   public static final int DEFAULT_NUMBER_OF_PUBLIC_SUBNETS_PER_AZ = 1;
+  /**
+   * Number of private subnets (with outbound internet access through NAT gateways) that will be
+   * available for each AZ by default.
+   */
+  public static final int DEFAULT_NUMBER_OF_PRIVATE_SUBNETS_PER_AZ = 0;
   /**
    * Number of AZ by default.
    */
@@ -110,6 +147,20 @@ public final class Network extends Construct {
    */
   public static final String NULL_ARN_VALUE = "null";
   public static final String DEFAULT_APPLICATION_NAME = "default";
+
+  public static final String VPC_ENDPOINT_ECR_API = "ecr.api";
+  public static final String VPC_ENDPOINT_ECR_DOCKER = "ecr.dkr";
+  public static final String VPC_ENDPOINT_CLOUDWATCH_LOGS = "logs";
+  public static final String VPC_ENDPOINT_SSM = "ssm";
+  public static final String VPC_ENDPOINT_SECRETS_MANAGER = "secretsmanager";
+
+  // https://docs.aws.amazon.com/AmazonECS/latest/APIReference/API_ClusterSetting.html
+  public static final String CONTAINER_INSIGHTS_ENABLED = "enabled";
+  public static final String CONTAINER_INSIGHTS_DISABLED = "disabled";
+
+  public static final String DESYNC_MITIGATION_MODE_MONITOR = "monitor";
+  public static final String DESYNC_MITIGATION_MODE_DEFENSIVE = "defensive";
+  public static final String DESYNC_MITIGATION_MODE_STRICTEST = "strictest";
   // endregion
 
   private Network(Construct scope, String id) {
@@ -161,13 +212,21 @@ public final class Network extends Construct {
     var network = new Network(validScope, string(envName, appName, validId));
     network.setApplicationEnvironment(validAppEnv);
 
-    var vpc = vpcFrom(network, validAppEnv, validInParams.getNatGatewayNumber(),
+    // one NAT gateway per AZ keeps the outbound traffic of each AZ in the same AZ
+    var natGatewayNumber = validInParams.isNatGatewayPerAZ()
+                           ? validInParams.getMaxAZs()
+                           : validInParams.getNatGatewayNumber();
+    var vpc = vpcFrom(network, validAppEnv, natGatewayNumber,
                       validInParams.getNumberOfIsolatedSubnetsPerAZ(),
                       validInParams.getNumberOfPublicSubnetsPerAZ(),
+                      validInParams.getNumberOfPrivateSubnetsPerAZ(),
                       validInParams.getMaxAZs());
     network.setVpc(vpc);
+    network.setVpcEndpointsSecurityGroup(vpcEndpoints(network, validAppEnv, vpc, validInParams));
 
-    var cluster = clusterFrom(network, vpc, validAppEnv.prefixed(CLUSTER_NAME));
+    var cluster = clusterFrom(network, vpc, validAppEnv.prefixed(CLUSTER_NAME),
+                              validInParams.isFargateCapacityProvidersEnabled(),
+                              validInParams.isContainerInsightsEnabled());
     network.setEcsCluster(cluster);
 
     var loadBalancerInfo = createLoadBalancer(network, validAppEnv, vpc, validInParams);
@@ -176,6 +235,11 @@ public final class Network extends Construct {
     network.setHttpListener(loadBalancerInfo.getHttpListener());
     loadBalancerInfo.getHttpsListener().ifPresent(network::setHttpsListener);
 
+    var namespaceName = validInParams.getServiceDiscoveryNamespaceName();
+    if (namespaceName != null) {
+      network.setServiceDiscoveryNamespace(serviceDiscoveryNamespace(network, vpc, namespaceName));
+    }
+
     saveNetworkInfoToParameterStore(network, inputParameters);
 
     applicationEnvironment.tag(network);
@@ -184,16 +248,133 @@ public final class Network extends Construct {
   }
 
   // region utility methods
-  private static ICluster clusterFrom(Construct scope, IVpc vpc, String clusterName) {
-    return Cluster.Builder.create(scope, "cluster").vpc(vpc).clusterName(clusterName).build();
+  private static ICluster clusterFrom(Construct scope, IVpc vpc, String clusterName,
+                                      boolean fargateCapacityProvidersEnabled,
+                                      boolean containerInsightsEnabled) {
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/fargate-capacity-providers.html
+    // https://docs.aws.amazon.com/AmazonCloudWatch/latest/monitoring/ContainerInsights.html
+    return Cluster.Builder.create(scope, "cluster")
+                          .vpc(vpc)
+                          .clusterName(clusterName)
+                          .enableFargateCapacityProviders(fargateCapacityProvidersEnabled)
+                          .containerInsights(containerInsightsEnabled)
+                          .build();
+  }
+
+  private static ISecurityGroup vpcEndpoints(Construct scope,
+                                             ApplicationEnvironment applicationEnvironment,
+                                             IVpc vpc, InputParameters inParams) {
+    // https://docs.aws.amazon.com/vpc/latest/privatelink/vpc-endpoints-s3.html
+    if (inParams.isS3GatewayEndpointEnabled()) {
+      var s3Options = GatewayVpcEndpointOptions.builder()
+                                               .service(GatewayVpcEndpointAwsService.S3)
+                                               .build();
+      vpc.addGatewayEndpoint("s3GatewayEndpoint", s3Options);
+    }
+
+    var interfaceEndpoints = Optional.ofNullable(inParams.getInterfaceEndpoints())
+                                     .orElse(emptyList());
+    if (interfaceEndpoints.isEmpty()) {
+      return null;
+    }
+
+    var securityGroupName = applicationEnvironment.prefixed("vpcEndpointsSecGroup");
+    var securityGroup = SecurityGroup.Builder.create(scope, securityGroupName)
+                                             .securityGroupName(securityGroupName)
+                                             .description("Access to the VPC endpoints.")
+                                             .vpc(vpc)
+                                             .build();
+    CfnSecurityGroupIngress.Builder.create(scope, "ingressToVpcEndpoints")
+                                   .groupId(securityGroup.getSecurityGroupId())
+                                   .cidrIp(vpc.getVpcCidrBlock())
+                                   .ipProtocol(TCP_PROTOCOL)
+                                   .fromPort(HTTPS_PORT)
+                                   .toPort(HTTPS_PORT)
+                                   .build();
+
+    // an interface endpoint can only be placed in one subnet per AZ
+    var subnetType = inParams.getNumberOfPrivateSubnetsPerAZ() > 0
+                     ? SubnetType.PRIVATE_WITH_NAT
+                     : SubnetType.PRIVATE_ISOLATED;
+    var subnets = SubnetSelection.builder().subnetType(subnetType).onePerAz(true).build();
+    // https://docs.aws.amazon.com/AmazonECS/latest/developerguide/vpc-endpoints.html
+    for (var service : interfaceEndpoints) {
+      var options = InterfaceVpcEndpointOptions.builder()
+                                               .service(interfaceEndpointService(service))
+                                               .securityGroups(List.of(securityGroup))
+                                               .subnets(subnets)
+                                               .privateDnsEnabled(true)
+                                               .open(false)
+                                               .build();
+      vpc.addInterfaceEndpoint(joinedString(DASH_JOINER, service, "endpoint"), options);
+    }
+    return securityGroup;
+  }
+
+  private static IInterfaceVpcEndpointService interfaceEndpointService(String service) {
+    return switch (Objects.requireNonNull(service)) {
+      case VPC_ENDPOINT_ECR_API -> InterfaceVpcEndpointAwsService.ECR;
+      case VPC_ENDPOINT_ECR_DOCKER -> InterfaceVpcEndpointAwsService.ECR_DOCKER;
+      case VPC_ENDPOINT_CLOUDWATCH_LOGS -> InterfaceVpcEndpointAwsService.CLOUDWATCH_LOGS;
+      case VPC_ENDPOINT_SSM -> InterfaceVpcEndpointAwsService.SSM;
+      case VPC_ENDPOINT_SECRETS_MANAGER -> InterfaceVpcEndpointAwsService.SECRETS_MANAGER;
+      default -> throw new IllegalArgumentException("Unsupported interface endpoint: " + service);
+    };
+  }
+
+  private static Duration loadBalancerIdleTimeout(InputParameters inParams) {
+    var idleTimeoutSeconds = inParams.getLoadBalancerIdleTimeoutSeconds();
+    if (idleTimeoutSeconds == null) {
+      return null;
+    }
+    if (idleTimeoutSeconds < LOAD_BALANCER_MIN_IDLE_TIMEOUT
+        || LOAD_BALANCER_MAX_IDLE_TIMEOUT < idleTimeoutSeconds) {
+      throw new IllegalArgumentException(
+          String.format("Load balancer idle timeout must be between %s and %s seconds",
+                        LOAD_BALANCER_MIN_IDLE_TIMEOUT, LOAD_BALANCER_MAX_IDLE_TIMEOUT));
+    }
+    return Duration.seconds(idleTimeoutSeconds);
+  }
+
+  private static void loadBalancerAttributes(ApplicationLoadBalancer loadBalancer,
+                                             InputParameters inParams) {
+    var desyncMitigationMode = inParams.getDesyncMitigationMode();
+    if (desyncMitigationMode != null) {
+      if (!List.of(DESYNC_MITIGATION_MODE_MONITOR, DESYNC_MITIGATION_MODE_DEFENSIVE,
+                   DESYNC_MITIGATION_MODE_STRICTEST).contains(desyncMitigationMode)) {
+        throw new IllegalArgumentException("Invalid desync mitigation mode: "
+                                           + desyncMitigationMode);
+      }
+      loadBalancer.setAttribute(LOAD_BALANCER_DESYNC_MITIGATION_MODE, desyncMitigationMode);
+    }
+    if (inParams.isDropInvalidHeaderFields()) {
+      loadBalancer.setAttribute(LOAD_BALANCER_DROP_INVALID_HEADER_FIELDS, String.valueOf(true));
+    }
+  }
+
+  private static CfnPrivateDnsNamespace serviceDiscoveryNamespace(Construct scope, IVpc vpc,
+                                                                  String namespaceName) {
+    // https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/aws-resource-servicediscovery-privatednsnamespace.html
+    return CfnPrivateDnsNamespace.Builder.create(scope, "serviceDiscoveryNamespace")
+                                         .name(namespaceName)
+                                         .vpc(vpc.getVpcId())
+                                         .description("Namespace for service to service calls")
+                                         .build();
   }
 
   private static IVpc vpcFrom(Construct scope, ApplicationEnvironment applicationEnvironment,
                               int natGatewayNumber, int numberOfIsolatedSubnetsPerAZ,
-                              int numberOfPublicSubnetsPerAZ, int maxAZs) {
+                              int numberOfPublicSubnetsPerAZ, int numberOfPrivateSubnetsPerAZ,
+                              int maxAZs) {
     if (numberOfIsolatedSubnetsPerAZ < 1 || numberOfPublicSubnetsPerAZ < 1 || maxAZs < 1) {
       throw new IllegalArgumentException("Number of private/public subnets and AZs must be >= 1");
     }
+    if (numberOfPrivateSubnetsPerAZ < 0) {
+      throw new IllegalArgumentException("Number of private subnets with NAT must be >= 0");
+    }
+    if (numberOfPrivateSubnetsPerAZ > 0 && natGatewayNumber < 1) {
+      throw new IllegalArgumentException("Private subnets with NAT require at least a NAT gateway");
+    }
 
     var isolatedSubnetsNamePrefix = applicationEnvironment.prefixed(PARAM_ISOLATED_SUBNETS);
     var isolatedSubnets = subnetsStreamFrom(numberOfIsolatedSubnetsPerAZ, isolatedSubnetsNamePrefix,
@@ -203,7 +384,13 @@ public final class Network extends Construct {
     var publicSubnets = subnetsStreamFrom(numberOfPublicSubnetsPerAZ, publicSubnetsNamePrefix,
                                           SubnetType.PUBLIC);
 
-    var subnetConfig = Stream.concat(isolatedSubnets, publicSubnets).toList();
+    var privateSubnetsNamePrefix = applicationEnvironment.prefixed(PARAM_PRIVATE_SUBNETS);
+    var privateSubnets = subnetsStreamFrom(numberOfPrivateSubnetsPerAZ, privateSubnetsNamePrefix,
+                                           SubnetType.PRIVATE_WITH_NAT);
+
+    var subnetConfig = Stream.of(isolatedSubnets, publicSubnets, privateSubnets)
+                             .flatMap(Function.identity())
+                             .toList();
 
     return Vpc.Builder.create(scope, "vpc")
                       .natGateways(natGatewayNumber)
@@ -236,12 +423,16 @@ public final class Network extends Construct {
     cfnSecurityGroupIngressFrom(scope, loadBalancerSecurityGroup.getSecurityGroupId());
 
     var loadbalancerName = applicationEnvironment.prefixed("loadbalancer");
+    var idleTimeout = loadBalancerIdleTimeout(inParams);
     var loadBalancer = ApplicationLoadBalancer.Builder.create(scope, "loadbalancer")
                                                       .loadBalancerName(loadbalancerName)
                                                       .vpc(vpc)
                                                       .internetFacing(true)
                                                       .securityGroup(loadBalancerSecurityGroup)
+                                                      .idleTimeout(idleTimeout)
+                                                      .http2Enabled(inParams.isHttp2Enabled())
                                                       .build();
+    loadBalancerAttributes(loadBalancer, inParams);
 
     var targetGroupName = applicationEnvironment.prefixed("noop-tGroup");
     var targetGroup = singletonList(
@@ -274,6 +465,7 @@ public final class Network extends Construct {
                                         .port(inParams.getListeningHttpsPort())
                                         .protocol(ApplicationProtocol.HTTPS)
                                         .certificates(singletonList(certificate))
+                                        .sslPolicy(inParams.getSslPolicy())
                                         .open(true)
                                         .build();
       httpsListener = loadBalancer.addListener("httpsListener", httpsListenerProps);
@@ -313,6 +505,10 @@ public final class Network extends Construct {
   private static void saveNetworkInfoToParameterStore(Network network, InputParameters inParams) {
     createStringParameter(network, PARAM_VPC_ID, network.getVpc().getVpcId());
     createStringParameter(network, PARAM_CLUSTER_NAME, network.getEcsCluster().getClusterName());
+    createStringParameter(network, PARAM_CLUSTER_CONTAINER_INSIGHTS,
+                          inParams.isContainerInsightsEnabled()
+                          ? CONTAINER_INSIGHTS_ENABLED
+                          : CONTAINER_INSIGHTS_DISABLED);
     createStringParameter(network, PARAM_LOAD_BALANCER_SECURITY_GROUP_ID,
                           network.getLoadBalancerSecurityGroup().getSecurityGroupId());
     createStringParameter(network, PARAM_LOAD_BALANCER_ARN,
@@ -330,6 +526,18 @@ public final class Network extends Construct {
     createStringParameter(network, PARAM_HTTPS_LISTENER_ARN, httpsListenerArn);
     createStringParameter(network, PARAM_SSL_CERTIFICATE_ARN, inParams.getSslCertificateArn());
 
+    var namespace = network.getServiceDiscoveryNamespace();
+    createStringParameter(network, PARAM_SERVICE_DISCOVERY_NAMESPACE_ID,
+                          namespace != null ? namespace.getAttrId() : NULL_ARN_VALUE);
+    createStringParameter(network, PARAM_SERVICE_DISCOVERY_NAMESPACE_NAME,
+                          inParams.getServiceDiscoveryNamespaceName());
+
+    var vpcEndpointsSecurityGroup = network.getVpcEndpointsSecurityGroup();
+    createStringParameter(network, PARAM_VPC_ENDPOINTS_SECURITY_GROUP_ID,
+                          vpcEndpointsSecurityGroup != null
+                          ? vpcEndpointsSecurityGroup.getSecurityGroupId()
+                          : NULL_ARN_VALUE);
+
     createStringListParameter(network, PARAM_AVAILABILITY_ZONES,
                               network.getVpc().getAvailabilityZones(),
                               Function.identity());
@@ -341,6 +549,10 @@ public final class Network extends Construct {
     createStringListParameter(network, PARAM_PUBLIC_SUBNETS,
                               network.getVpc().getPublicSubnets(),
                               ISubnet::getSubnetId);
+
+    createStringListParameter(network, PARAM_PRIVATE_SUBNETS,
+                              network.getVpc().getPrivateSubnets(),
+                              ISubnet::getSubnetId);
   }
 
   private static void createStringParameter(Network network, String id, String stringValue) {
@@ -407,6 +619,11 @@ public final class Network extends Construct {
     return getParameter(scope, applicationEnvironment, PARAM_CLUSTER_NAME);
   }
 
+  public static String getClusterContainerInsights(Construct scope,
+                                                   ApplicationEnvironment applicationEnvironment) {
+    return getParameter(scope, applicationEnvironment, PARAM_CLUSTER_CONTAINER_INSIGHTS);
+  }
+
   public static String getLoadBalancerSecurityGroupId(Construct scope,
                                                       ApplicationEnvironment appEnvironment) {
     return getParameter(scope, appEnvironment,
@@ -443,6 +660,21 @@ public final class Network extends Construct {
     return getParameter(scope, applicationEnvironment, PARAM_SSL_CERTIFICATE_ARN);
   }
 
+  public static String getServiceDiscoveryNamespaceId(Construct scope,
+                                                     ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_SERVICE_DISCOVERY_NAMESPACE_ID);
+  }
+
+  public static String getServiceDiscoveryNamespaceName(Construct scope,
+                                                       ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_SERVICE_DISCOVERY_NAMESPACE_NAME);
+  }
+
+  public static String getVpcEndpointsSecurityGroupId(Construct scope,
+                                                      ApplicationEnvironment appEnvironment) {
+    return getParameter(scope, appEnvironment, PARAM_VPC_ENDPOINTS_SECURITY_GROUP_ID);
+  }
+
   public static List<String> getParameterList(Construct scope,
                                               ApplicationEnvironment applicationEnvironment,
                                               String id, int totalElements) {
@@ -473,6 +705,13 @@ public final class Network extends Construct {
     return getParameterList(networkScope, applicationEnvironment, PARAM_PUBLIC_SUBNETS,
                             totalPublicSubnets);
   }
+
+  public static List<String> getPrivateSubnets(Construct networkScope,
+                                               ApplicationEnvironment applicationEnvironment,
+                                               int totalPrivateSubnets) {
+    return getParameterList(networkScope, applicationEnvironment, PARAM_PRIVATE_SUBNETS,
+                            totalPrivateSubnets);
+  }
   // endregion
 
   // region output parameters
@@ -518,17 +757,49 @@ public final class Network extends Construct {
                                                       int numberOfIsolatedSubnetsPerAz,
                                                       int numberOfPublicSubnetsPerAz,
                                                       int totalAvailabilityZones) {
+    return outputParametersFrom(networkScope, appEnvironment, numberOfIsolatedSubnetsPerAz,
+                                numberOfPublicSubnetsPerAz,
+                                DEFAULT_NUMBER_OF_PRIVATE_SUBNETS_PER_AZ, totalAvailabilityZones);
+  }
+
+  /**
+   * Returns the network output parameters generated by a construct where the {@link Network}
+   * instance was previously deployed with private subnets.
+   *
+   * @param networkScope                 Scope where the network instance to retrieve the
+   *                                     parameters from the SSM was deployed.
+   * @param appEnvironment               {@link ApplicationEnvironment} instance holding the name
+   *                                     of the application and the environment where the
+   *                                     {@link Network} instance was deployed.
+   * @param numberOfIsolatedSubnetsPerAz Number of isolated subnets per AZ in the deployed network.
+   * @param numberOfPublicSubnetsPerAz   Number of public subnets per AZ in the deployed network.
+   * @param numberOfPrivateSubnetsPerAz  Number of private subnets (with NAT) per AZ in the deployed
+   *                                     network.
+   * @param totalAvailabilityZones       Number of total availability zones in the deployed network.
+   *
+   * @return An {@link OutputParameters} instance containing the parameters from the SSM.
+   */
+  public static OutputParameters outputParametersFrom(Construct networkScope,
+                                                      ApplicationEnvironment appEnvironment,
+                                                      int numberOfIsolatedSubnetsPerAz,
+                                                      int numberOfPublicSubnetsPerAz,
+                                                      int numberOfPrivateSubnetsPerAz,
+                                                      int totalAvailabilityZones) {
     var scope = Objects.requireNonNull(networkScope);
     if (numberOfIsolatedSubnetsPerAz < 1 || numberOfPublicSubnetsPerAz < 1
         || totalAvailabilityZones < 1) {
       throw new IllegalArgumentException("The number of isolated and public subnets and the "
                                          + "total availability zones must be greater than 0");
     }
+    if (numberOfPrivateSubnetsPerAz < 0) {
+      throw new IllegalArgumentException("The number of private subnets must not be negative");
+    }
 
     // subnets will reside in one Availability Zone at a time:
     // https://docs.aws.amazon.com/vpc/latest/userguide/VPC_Subnets.html#vpc-subnet-basics
     int totalIsolatedSubnets = numberOfIsolatedSubnetsPerAz * totalAvailabilityZones;
     int totalPublicSubnets = numberOfPublicSubnetsPerAz * totalAvailabilityZones;
+    int totalPrivateSubnets = numberOfPrivateSubnetsPerAz * totalAvailabilityZones;
 
     return new OutputParameters(
         getVPCId(scope, appEnvironment),
@@ -542,7 +813,13 @@ public final class Network extends Construct {
         getAvailabilityZones(scope, appEnvironment, totalAvailabilityZones),
         getLoadBalancerArn(scope, appEnvironment),
         getLoadBalancerDnsName(scope, appEnvironment),
-        getLoadBalancerCanonicalHostedZoneId(scope, appEnvironment)
+        getLoadBalancerCanonicalHostedZoneId(scope, appEnvironment),
+        // read on demand, so the stacks not using them deploy on a network created without them
+        memoized(() -> getServiceDiscoveryNamespaceId(scope, appEnvironment)),
+        memoized(() -> getServiceDiscoveryNamespaceName(scope, appEnvironment)),
+        getPrivateSubnets(scope, appEnvironment, totalPrivateSubnets),
+        memoized(() -> getVpcEndpointsSecurityGroupId(scope, appEnvironment)),
+        memoized(() -> getClusterContainerInsights(scope, appEnvironment))
     );
   }
 
@@ -563,10 +840,21 @@ public final class Network extends Construct {
     private String sslCertificateArn;
 
     private int natGatewayNumber;
+    /**
+     * Whether a NAT gateway is created in each AZ, instead of {@link #getNatGatewayNumber()} NAT
+     * gateways, so the outbound traffic of the private subnets doesn't cross AZs.
+     */
+    private boolean natGatewayPerAZ;
     @lombok.Builder.Default
     private int numberOfIsolatedSubnetsPerAZ = DEFAULT_NUMBER_OF_ISOLATED_SUBNETS_PER_AZ;
     @lombok.Builder.Default
     private int numberOfPublicSubnetsPerAZ = DEFAULT_NUMBER_OF_PUBLIC_SUBNETS_PER_AZ;
+    /**
+     * Number of private subnets per AZ whose outbound internet traffic goes through the NAT
+     * gateways. At least a NAT gateway is required if greater than 0.
+     */
+    @lombok.Builder.Default
+    private int numberOfPrivateSubnetsPerAZ = DEFAULT_NUMBER_OF_PRIVATE_SUBNETS_PER_AZ;
     @lombok.Builder.Default
     private int maxAZs = DEFAULT_NUMBER_OF_AZ;
     @lombok.Builder.Default
@@ -575,6 +863,68 @@ public final class Network extends Construct {
     private int listeningExternalHttpPort = 80;
     @lombok.Builder.Default
     private int listeningHttpsPort = 443;
+    /**
+     * Whether the FARGATE and FARGATE_SPOT capacity providers are associated to the ECS cluster,
+     * so the services deployed in it can use a capacity provider strategy.
+     */
+    private boolean fargateCapacityProvidersEnabled;
+    /**
+     * Whether CloudWatch Container Insights is enabled in the ECS cluster, so the CPU, memory,
+     * network and storage metrics of the tasks and services are collected without running agents.
+     */
+    private boolean containerInsightsEnabled;
+    /**
+     * Name of a private DNS namespace (such as {@code internal.local}) created in the VPC so the
+     * ECS services can register themselves in Cloud Map and be called by other services directly,
+     * without going through the load balancer. If not set, no namespace is created.
+     */
+    private String serviceDiscoveryNamespaceName;
+    /**
+     * Whether an S3 gateway endpoint is created, so the ECR image layers (stored in S3) are pulled
+     * from within the VPC.
+     */
+    private boolean s3GatewayEndpointEnabled;
+    /**
+     * AWS services for which an interface endpoint is created, with private DNS enabled, so the
+     * requests to them from the VPC don't go through the internet. The endpoints are placed in the
+     * private subnets with NAT if any, or in the isolated ones otherwise. Only the services named
+     * by the {@code VPC_ENDPOINT_*} constants are supported.
+     *
+     * @see Network#VPC_ENDPOINT_ECR_API
+     * @see Network#VPC_ENDPOINT_ECR_DOCKER
+     * @see Network#VPC_ENDPOINT_CLOUDWATCH_LOGS
+     * @see Network#VPC_ENDPOINT_SSM
+     * @see Network#VPC_ENDPOINT_SECRETS_MANAGER
+     */
+    @lombok.Builder.Default
+    private List<String> interfaceEndpoints = emptyList();
+    /**
+     * Seconds (1 to 4000) a connection to the load balancer is kept open without any data being
+     * sent. It should be greater than the keep-alive timeout of the clients, such as a CDN, so
+     * their connections aren't reset. If not set, the load balancer default (60 seconds) is used.
+     */
+    private Integer loadBalancerIdleTimeoutSeconds;
+    @lombok.Builder.Default
+    private boolean http2Enabled = true;
+    /**
+     * How the load balancer handles requests that might pose a security risk due to HTTP desync.
+     * If not set, the load balancer default ({@code defensive}) is used.
+     *
+     * @see Network#DESYNC_MITIGATION_MODE_MONITOR
+     * @see Network#DESYNC_MITIGATION_MODE_DEFENSIVE
+     * @see Network#DESYNC_MITIGATION_MODE_STRICTEST
+     */
+    private String desyncMitigationMode;
+    /**
+     * Whether the HTTP headers with invalid names are removed by the load balancer before the
+     * requests are routed to the targets.
+     */
+    private boolean dropInvalidHeaderFields;
+    /**
+     * Security policy (TLS protocols and ciphers) of the HTTPS listener. If not set, the CDK
+     * default is used.
+     */
+    private SslPolicy sslPolicy;
 
     String getListeningHttpsPortString() {
       return String.valueOf(listeningHttpsPort);
@@ -600,10 +950,43 @@ public final class Network extends Construct {
     private final String loadBalancerArn;
     private final String loadBalancerDnsName;
     private final String loadBalancerCanonicalHostedZoneId;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<String> serviceDiscoveryNamespaceId;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<String> serviceDiscoveryNamespaceName;
+    private final List<String> privateSubnets;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<String> vpcEndpointsSecurityGroupId;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<String> ecsClusterContainerInsights;
 
     public Optional<String> getHttpsListenerArn() {
       return Optional.ofNullable(httpsListenerArn);
     }
+
+    String getServiceDiscoveryNamespaceId() {
+      return serviceDiscoveryNamespaceId.get();
+    }
+
+    String getServiceDiscoveryNamespaceName() {
+      return serviceDiscoveryNamespaceName.get();
+    }
+
+    String getVpcEndpointsSecurityGroupId() {
+      return vpcEndpointsSecurityGroupId.get();
+    }
+
+    /**
+     * Returns the Container Insights setting of the ECS cluster.
+     *
+     * @return The Container Insights setting.
+     *
+     * @see Network#CONTAINER_INSIGHTS_ENABLED
+     * @see Network#CONTAINER_INSIGHTS_DISABLED
+     */
+    String getEcsClusterContainerInsights() {
+      return ecsClusterContainerInsights.get();
+    }
   }
 
   @RequiredArgsConstructor
@@ -6,6 +6,9 @@ import software.constructs.IConstruct;
 
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public final class Util {
@@ -91,6 +94,24 @@ public final class Util {
            : "a" + alphanumeric;
   }
 
+  /**
+   * Returns a supplier which gets the value from the provided one on its first call only. Useful to
+   * read an SSM parameter on demand, since reading it twice would create its construct twice.
+   *
+   * @param supplier Supplier of the value.
+   * @param <T>      Type of the value.
+   *
+   * @return The memoized supplier.
+   */
+  static <T> Supplier<T> memoized(Supplier<T> supplier) {
+    Objects.requireNonNull(supplier);
+    var value = new AtomicReference<Optional<T>>();
+    return () -> value.updateAndGet(current -> current != null
+                                               ? current
+                                               : Optional.ofNullable(supplier.get()))
+                      .orElse(null);
+  }
+
   public static boolean isNotEmptyNotNull(String value) {
     return value != null && !value.isEmpty() && !"null".equals(value);
   }
@@ -0,0 +1,279 @@
+package org.wcdevs.blog.cdk;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awscdk.services.ssm.IStringParameter;
+import software.amazon.awscdk.services.ssm.StringParameter;
+import software.constructs.Construct;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+class CacheTest {
+  private static String randomString() {
+    return UUID.randomUUID().toString();
+  }
+
+  @Test
+  void newInstance() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> { });
+  }
+
+  @Test
+  void newInstanceWithClusterModeReplicasAndIngress() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> {
+          when(inParams.isClusterModeEnabled()).thenReturn(true);
+          when(inParams.getNumNodeGroups()).thenReturn(3);
+          when(inParams.getReplicasPerNodeGroup()).thenReturn(2);
+          when(inParams.isMultiAzEnabled()).thenReturn(true);
+          when(inParams.getParameterGroupFamily()).thenReturn(randomString());
+          when(inParams.getParameters()).thenReturn(Map.of(randomString(), randomString()));
+          when(inParams.getSecurityGroupIdsToAllowIngressFrom())
+              .thenReturn(List.of(randomString(), randomString()));
+        });
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfClusterModeWithoutNodeGroups() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Cache.InputParameters> conf = inParams -> {
+      when(inParams.isClusterModeEnabled()).thenReturn(true);
+      when(inParams.getNumNodeGroups()).thenReturn(0);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfTooManyReplicas() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Cache.InputParameters> conf
+        = inParams -> when(inParams.getReplicasPerNodeGroup()).thenReturn(6);
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfMultiAzWithoutReplicas() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Cache.InputParameters> conf
+        = inParams -> when(inParams.isMultiAzEnabled()).thenReturn(true);
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfThereAreNoAZInNetwork() {
+    var vpc = randomString();
+    var subnets = List.of(randomString(), randomString());
+    assertThrows(IllegalArgumentException.class,
+                 () -> testNewInstance(null, subnets, vpc, inParams -> { }));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfAZInNetworkAreEmpty() {
+    List<String> AZs = emptyList();
+    var vpc = randomString();
+    var subnets = List.of(randomString(), randomString());
+    assertThrows(IllegalArgumentException.class,
+                 () -> testNewInstance(AZs, subnets, vpc, inParams -> { }));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfSubnetsAreLessThanTwo() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString());
+    assertThrows(IllegalArgumentException.class,
+                 () -> testNewInstance(AZs, subnets, vpc, inParams -> { }));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfNoVpcInNetwork() {
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    assertThrows(IllegalArgumentException.class,
+                 () -> testNewInstance(AZs, subnets, null, inParams -> { }));
+  }
+
+  void testNewInstance(List<String> availabilityZones, List<String> isolatedSubnets, String vpc,
+                       Consumer<Cache.InputParameters> inputParamsConfigurer) {
+    StaticallyMockedCdk.executeTest(() -> {
+      var scope = mock(Construct.class);
+      var inputParam = mock(Cache.InputParameters.class);
+      when(inputParam.getNodeType()).thenReturn(Cache.InputParameters.DEFAULT_NODE_TYPE);
+      inputParamsConfigurer.accept(inputParam);
+      var appEnvironment = mock(ApplicationEnvironment.class);
+      when(appEnvironment.prefixed(any())).thenReturn(randomString());
+      var netOutputParamsMock = mock(Network.OutputParameters.class);
+      when(netOutputParamsMock.getAvailabilityZones()).thenReturn(availabilityZones);
+      when(netOutputParamsMock.getIsolatedSubnets()).thenReturn(isolatedSubnets);
+      when(netOutputParamsMock.getVpcId()).thenReturn(vpc);
+
+      try (var mockedNetwork = mockStatic(Network.class)) {
+        mockedNetwork.when(() -> Network.outputParametersFrom(any(), any()))
+                     .thenReturn(netOutputParamsMock);
+
+        assertNotNull(Cache.newInstance(scope, randomString(), appEnvironment, inputParam));
+      }
+    });
+  }
+
+  @Test
+  void getParameter() {
+    var expected = randomString();
+    var stringParamMock = mock(IStringParameter.class);
+    when(stringParamMock.getStringValue()).thenReturn(expected);
+
+    try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+      mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(), any()))
+                           .thenReturn(stringParamMock);
+      assertEquals(expected, Cache.getParameter(mock(Construct.class),
+                                                mock(ApplicationEnvironment.class),
+                                                randomString()));
+    }
+  }
+
+  void testGetParameter(BiFunction<? super Construct, ? super ApplicationEnvironment, String> fn) {
+    StaticallyMockedCdk.executeTest(() -> {
+      var expected = randomString();
+      var iStringParameter = mock(IStringParameter.class);
+      when(iStringParameter.getStringValue()).thenReturn(expected);
+      try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+        mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(),
+                                                                                 any()))
+                             .thenReturn(iStringParameter);
+        assertEquals(expected, fn.apply(mock(Construct.class), mock(ApplicationEnvironment.class)));
+      }
+    });
+  }
+
+  @Test
+  void getCacheEndpointAddress() {
+    testGetParameter(Cache::getCacheEndpointAddress);
+  }
+
+  @Test
+  void getCacheEndpointPort() {
+    testGetParameter(Cache::getCacheEndpointPort);
+  }
+
+  @Test
+  void getCacheReaderEndpointAddress() {
+    testGetParameter(Cache::getCacheReaderEndpointAddress);
+  }
+
+  @Test
+  void getCacheSecurityGroupId() {
+    testGetParameter(Cache::getCacheSecurityGroupId);
+  }
+
+  @Test
+  void outputParametersFrom() {
+    var endpointAddress = randomString();
+    var endpointPort = randomString();
+    var readerEndpointAddress = randomString();
+    var securityGroupId = randomString();
+
+    var expected = new Cache.OutputParameters(endpointAddress, endpointPort, readerEndpointAddress,
+                                              securityGroupId);
+    var iStringParameter = mock(IStringParameter.class);
+    when(iStringParameter.getStringValue()).thenReturn(endpointAddress)
+                                           .thenReturn(endpointPort)
+                                           .thenReturn(readerEndpointAddress)
+                                           .thenReturn(securityGroupId);
+
+    StaticallyMockedCdk.executeTest(() -> {
+      try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+        mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(),
+                                                                                 any()))
+                             .thenReturn(iStringParameter);
+        assertEquals(expected, Cache.outputParametersFrom(mock(Construct.class),
+                                                          mock(ApplicationEnvironment.class)));
+      }
+    });
+  }
+
+  @Test
+  void testInputParameters() {
+    Random random = new SecureRandom();
+
+    var nodeType = randomString();
+    var engineVersion = randomString();
+    var parameterGroupFamily = randomString();
+    var parameters = Map.of(randomString(), randomString());
+    var clusterModeEnabled = random.nextBoolean();
+    var numNodeGroups = random.nextInt();
+    var replicasPerNodeGroup = random.nextInt();
+    var multiAzEnabled = random.nextBoolean();
+    var atRestEncryptionEnabled = random.nextBoolean();
+    var transitEncryptionEnabled = random.nextBoolean();
+    var minorVersionAutoUpgradeEnabled = random.nextBoolean();
+    var port = random.nextInt();
+    var snapshotRetentionLimitInDays = random.nextInt();
+    var securityGroupIds = List.of(randomString());
+    var input = Cache.InputParameters.builder()
+                                     .nodeType(nodeType)
+                                     .engineVersion(engineVersion)
+                                     .parameterGroupFamily(parameterGroupFamily)
+                                     .parameters(parameters)
+                                     .clusterModeEnabled(clusterModeEnabled)
+                                     .numNodeGroups(numNodeGroups)
+                                     .replicasPerNodeGroup(replicasPerNodeGroup)
+                                     .multiAzEnabled(multiAzEnabled)
+                                     .atRestEncryptionEnabled(atRestEncryptionEnabled)
+                                     .transitEncryptionEnabled(transitEncryptionEnabled)
+                                     .minorVersionAutoUpgradeEnabled(minorVersionAutoUpgradeEnabled)
+                                     .portNumber(port)
+                                     .snapshotRetentionLimitInDays(snapshotRetentionLimitInDays)
+                                     .securityGroupIdsToAllowIngressFrom(securityGroupIds)
+                                     .build();
+    assertNotNull(input);
+    assertEquals(nodeType, input.getNodeType());
+    assertEquals(engineVersion, input.getEngineVersion());
+    assertEquals(parameterGroupFamily, input.getParameterGroupFamily());
+    assertEquals(parameters, input.getParameters());
+    assertEquals(clusterModeEnabled, input.isClusterModeEnabled());
+    assertEquals(numNodeGroups, input.getNumNodeGroups());
+    assertEquals(replicasPerNodeGroup, input.getReplicasPerNodeGroup());
+    assertEquals(multiAzEnabled, input.isMultiAzEnabled());
+    assertEquals(atRestEncryptionEnabled, input.isAtRestEncryptionEnabled());
+    assertEquals(transitEncryptionEnabled, input.isTransitEncryptionEnabled());
+    assertEquals(minorVersionAutoUpgradeEnabled, input.isMinorVersionAutoUpgradeEnabled());
+    assertEquals(port, input.getPortNumber());
+    assertEquals(snapshotRetentionLimitInDays, input.getSnapshotRetentionLimitInDays());
+    assertEquals(securityGroupIds, input.getSecurityGroupIdsToAllowIngressFrom());
+  }
+
+  @Test
+  void testInputParametersDefaults() {
+    var input = Cache.InputParameters.builder().build();
+    assertEquals(Cache.InputParameters.DEFAULT_NODE_TYPE, input.getNodeType());
+    assertEquals(Cache.InputParameters.DEFAULT_ENGINE_VERSION, input.getEngineVersion());
+    assertEquals(Cache.InputParameters.DEFAULT_PARAMETER_GROUP_FAMILY,
+                 input.getParameterGroupFamily());
+    assertEquals(1, input.getNumNodeGroups());
+    assertEquals(6379, input.getPortNumber());
+    assertEquals(emptyList(), input.getSecurityGroupIdsToAllowIngressFrom());
+  }
+}
@@ -0,0 +1,199 @@
+package org.wcdevs.blog.cdk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.awscdk.Environment;
+import software.amazon.awscdk.services.cloudfront.PriceClass;
+import software.constructs.Construct;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+class ContentDeliveryStackTest {
+  private static final Random RANDOM = new SecureRandom();
+
+  private static String randomString() {
+    return UUID.randomUUID().toString();
+  }
+
+  static Stream<Arguments> newInstanceArgs() {
+    var staticContent = ContentDeliveryStack.CacheBehavior.builder()
+                                                          .defaultTtlSeconds(86_400)
+                                                          .build();
+    var dynamicContent = ContentDeliveryStack.CacheBehavior.builder()
+                                                           .allQueryStrings(true)
+                                                           .allCookies(true)
+                                                           .headers(List.of("Authorization"))
+                                                           .compressionEnabled(false)
+                                                           .allMethodsAllowed(true)
+                                                           .build();
+    var api = ContentDeliveryStack.CacheBehavior.builder()
+                                                .cachingDisabled(true)
+                                                .headers(List.of("Authorization"))
+                                                .allMethodsAllowed(true)
+                                                .build();
+    var posts = ContentDeliveryStack.CacheBehavior.builder()
+                                                  .defaultTtlSeconds(300)
+                                                  .queryStrings(List.of("page"))
+                                                  .cookies(List.of("locale"))
+                                                  .build();
+    var withDefaults = ContentDeliveryStack.InputParameters.builder().build();
+    var tuned = ContentDeliveryStack.InputParameters
+        .builder()
+        .originDomainName(randomString())
+        .httpsOrigin(true)
+        .originKeepaliveTimeoutSeconds(60)
+        .originReadTimeoutSeconds(30)
+        .originShieldRegion(randomString())
+        .defaultCacheBehavior(dynamicContent)
+        .cacheBehaviors(Map.of("*.css", staticContent, "/posts/*", posts, "/api/*", api))
+        .priceClass(PriceClass.PRICE_CLASS_ALL)
+        .build();
+    return Stream.of(arguments(withDefaults), arguments(tuned));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceArgs")
+  void newInstance(ContentDeliveryStack.InputParameters inputParameters) {
+    assertNotNull(testNewInstance(inputParameters));
+  }
+
+  @Test
+  void newInstanceThrowsWithInvalidTtls() {
+    var cacheBehavior = ContentDeliveryStack.CacheBehavior.builder()
+                                                          .minTtlSeconds(10)
+                                                          .defaultTtlSeconds(5)
+                                                          .build();
+    var inputParameters = ContentDeliveryStack.InputParameters.builder()
+                                                              .defaultCacheBehavior(cacheBehavior)
+                                                              .build();
+    Executable executable = () -> testNewInstance(inputParameters);
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceThrowsWithoutOriginDomainNameIfHttpsOrigin() {
+    var inputParameters = ContentDeliveryStack.InputParameters.builder().httpsOrigin(true).build();
+    Executable executable = () -> testNewInstance(inputParameters);
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  private static ContentDeliveryStack testNewInstance(
+      ContentDeliveryStack.InputParameters inputParameters) {
+    var result = new ContentDeliveryStack[1];
+    StaticallyMockedCdk.executeTest(() -> {
+      try (var mockedNetwork = mockStatic(Network.class)) {
+        var netOutParamsMock = mock(Network.OutputParameters.class);
+        when(netOutParamsMock.getLoadBalancerDnsName()).thenReturn(randomString());
+        mockedNetwork.when(() -> Network.outputParametersFrom(any(), any()))
+                     .thenReturn(netOutParamsMock);
+
+        var scope = mock(Construct.class);
+        var awsEnv = mock(Environment.class);
+        var appEnv = new ApplicationEnvironment(randomString(), randomString());
+
+        result[0] = ContentDeliveryStack.newInstance(scope, randomString(), awsEnv, appEnv,
+                                                     randomString(), randomString(),
+                                                     inputParameters);
+      }
+    });
+    return result[0];
+  }
+
+  @Test
+  void inputParameters() {
+    var originDomainName = randomString();
+    var httpsOrigin = RANDOM.nextBoolean();
+    var originKeepaliveTimeoutSeconds = RANDOM.nextInt();
+    var originReadTimeoutSeconds = RANDOM.nextInt();
+    var originShieldRegion = randomString();
+    var defaultCacheBehavior = ContentDeliveryStack.CacheBehavior.builder().build();
+    var cacheBehaviors = Map.of(randomString(), defaultCacheBehavior);
+    var priceClass = PriceClass.PRICE_CLASS_200;
+    var actual = ContentDeliveryStack.InputParameters
+        .builder()
+        .originDomainName(originDomainName)
+        .httpsOrigin(httpsOrigin)
+        .originKeepaliveTimeoutSeconds(originKeepaliveTimeoutSeconds)
+        .originReadTimeoutSeconds(originReadTimeoutSeconds)
+        .originShieldRegion(originShieldRegion)
+        .defaultCacheBehavior(defaultCacheBehavior)
+        .cacheBehaviors(cacheBehaviors)
+        .priceClass(priceClass)
+        .build();
+
+    assertEquals(originDomainName, actual.getOriginDomainName());
+    assertEquals(httpsOrigin, actual.isHttpsOrigin());
+    assertEquals(originKeepaliveTimeoutSeconds, actual.getOriginKeepaliveTimeoutSeconds());
+    assertEquals(originReadTimeoutSeconds, actual.getOriginReadTimeoutSeconds());
+    assertEquals(originShieldRegion, actual.getOriginShieldRegion());
+    assertEquals(defaultCacheBehavior, actual.getDefaultCacheBehavior());
+    assertEquals(cacheBehaviors, actual.getCacheBehaviors());
+    assertEquals(priceClass, actual.getPriceClass());
+  }
+
+  @Test
+  void inputParametersDefaultCacheBehaviorPassesThrough() {
+    var actual = ContentDeliveryStack.InputParameters.builder().build().getDefaultCacheBehavior();
+
+    assertTrue(actual.isCachingDisabled());
+    assertTrue(actual.isAllMethodsAllowed());
+  }
+
+  @Test
+  void cacheBehavior() {
+    var cachingDisabled = RANDOM.nextBoolean();
+    var defaultTtlSeconds = RANDOM.nextInt();
+    var minTtlSeconds = RANDOM.nextInt();
+    var maxTtlSeconds = RANDOM.nextInt();
+    var allQueryStrings = RANDOM.nextBoolean();
+    var queryStrings = List.of(randomString());
+    var allCookies = RANDOM.nextBoolean();
+    var cookies = List.of(randomString());
+    var headers = List.of(randomString());
+    var compressionEnabled = RANDOM.nextBoolean();
+    var allMethodsAllowed = RANDOM.nextBoolean();
+    var actual = ContentDeliveryStack.CacheBehavior.builder()
+                                                   .cachingDisabled(cachingDisabled)
+                                                   .defaultTtlSeconds(defaultTtlSeconds)
+                                                   .minTtlSeconds(minTtlSeconds)
+                                                   .maxTtlSeconds(maxTtlSeconds)
+                                                   .allQueryStrings(allQueryStrings)
+                                                   .queryStrings(queryStrings)
+                                                   .allCookies(allCookies)
+                                                   .cookies(cookies)
+                                                   .headers(headers)
+                                                   .compressionEnabled(compressionEnabled)
+                                                   .allMethodsAllowed(allMethodsAllowed)
+                                                   .build();
+
+    assertEquals(cachingDisabled, actual.isCachingDisabled());
+    assertEquals(defaultTtlSeconds, actual.getDefaultTtlSeconds());
+    assertEquals(minTtlSeconds, actual.getMinTtlSeconds());
+    assertEquals(maxTtlSeconds, actual.getMaxTtlSeconds());
+    assertEquals(allQueryStrings, actual.isAllQueryStrings());
+    assertEquals(queryStrings, actual.getQueryStrings());
+    assertEquals(allCookies, actual.isAllCookies());
+    assertEquals(cookies, actual.getCookies());
+    assertEquals(headers, actual.getHeaders());
+    assertEquals(compressionEnabled, actual.isCompressionEnabled());
+    assertEquals(allMethodsAllowed, actual.isAllMethodsAllowed());
+  }
+}
@@ -1,6 +1,10 @@
 package org.wcdevs.blog.cdk;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import software.amazon.awscdk.SecretValue;
 import software.amazon.awscdk.services.rds.StorageType;
 import software.amazon.awscdk.services.secretsmanager.ISecret;
@@ -14,11 +18,16 @@ import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
@@ -81,12 +90,271 @@ class DatabaseTest {
     assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, null));
   }
 
+  @Test
+  void newInstanceWithProxy() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> {
+          when(inParams.isProxyEnabled()).thenReturn(true);
+          when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_POSTGRES);
+          when(inParams.getProxyConnectionBorrowTimeoutSeconds()).thenReturn(30);
+          when(inParams.getProxyMaxConnectionsPercent()).thenReturn(90);
+        });
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfProxyBorrowTimeoutIsInvalid() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.isProxyEnabled()).thenReturn(true);
+      when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_POSTGRES);
+      when(inParams.getProxyConnectionBorrowTimeoutSeconds()).thenReturn(3601);
+      when(inParams.getProxyMaxConnectionsPercent()).thenReturn(90);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfProxyMaxConnectionsPercentIsInvalid() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.isProxyEnabled()).thenReturn(true);
+      when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_POSTGRES);
+      when(inParams.getProxyMaxConnectionsPercent()).thenReturn(0);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceWithReadReplicasInOtherAvailabilityZones() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> {
+          when(inParams.getReadReplicas()).thenReturn(3);
+          when(inParams.isReadReplicasInOtherAvailabilityZones()).thenReturn(true);
+          when(inParams.getBackUpRetentionPeriodInDays()).thenReturn(1);
+        });
+  }
+
+  @Test
+  void newInstanceWithReadReplicas() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString()), List.of(randomString(), randomString()), vpc,
+                    inParams -> {
+                      when(inParams.getReadReplicas()).thenReturn(2);
+                      when(inParams.getReadReplicaInstanceClass()).thenReturn(randomString());
+                      when(inParams.getBackUpRetentionPeriodInDays()).thenReturn(7);
+                    });
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfReadReplicasAreNegative() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf
+        = inParams -> when(inParams.getReadReplicas()).thenReturn(-1);
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfReadReplicasWithoutBackups() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.getReadReplicas()).thenReturn(1);
+      when(inParams.getBackUpRetentionPeriodInDays()).thenReturn(0);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfNoOtherAZForReadReplicas() {
+    var vpc = randomString();
+    var AZs = List.of(randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.getReadReplicas()).thenReturn(1);
+      when(inParams.isReadReplicasInOtherAvailabilityZones()).thenReturn(true);
+      when(inParams.getBackUpRetentionPeriodInDays()).thenReturn(1);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceWithAuroraCluster() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> {
+          when(inParams.isAuroraEngine()).thenReturn(true);
+          when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_AURORA_POSTGRES);
+          when(inParams.getReadReplicas()).thenReturn(2);
+          when(inParams.isReadReplicasInOtherAvailabilityZones()).thenReturn(true);
+          when(inParams.isProxyEnabled()).thenReturn(true);
+          when(inParams.getProxyMaxConnectionsPercent()).thenReturn(100);
+        });
+  }
+
+  @Test
+  void newInstanceWithAuroraServerlessV2Cluster() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> {
+          when(inParams.isAuroraEngine()).thenReturn(true);
+          when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_AURORA_POSTGRES);
+          when(inParams.isServerlessV2Enabled()).thenReturn(true);
+          when(inParams.getServerlessV2MinCapacity()).thenReturn(0.5);
+          when(inParams.getServerlessV2MaxCapacity()).thenReturn(4.0);
+          when(inParams.getReadReplicas()).thenReturn(1);
+        });
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfServerlessV2CapacityIsInvalid() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.isAuroraEngine()).thenReturn(true);
+      when(inParams.isServerlessV2Enabled()).thenReturn(true);
+      when(inParams.getServerlessV2MinCapacity()).thenReturn(4.0);
+      when(inParams.getServerlessV2MaxCapacity()).thenReturn(2.0);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  static Stream<Arguments> newInstanceThrowsIllegalArgumentExceptionIfServerlessV2IsInvalidArgs() {
+    return Stream.of(arguments(0.5, 1.3, "14.3"), arguments(0.7, 2.0, "13.6"),
+                     arguments(0.5, 2.0, "13.4"), arguments(0.5, 2.0, "12.11"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsIllegalArgumentExceptionIfServerlessV2IsInvalidArgs")
+  void newInstanceThrowsIllegalArgumentExceptionIfServerlessV2IsInvalid(double minCapacity,
+                                                                        double maxCapacity,
+                                                                        String engineVersion) {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.isAuroraEngine()).thenReturn(true);
+      when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_AURORA_POSTGRES);
+      when(inParams.getEngineVersion()).thenReturn(engineVersion);
+      when(inParams.isServerlessV2Enabled()).thenReturn(true);
+      when(inParams.getServerlessV2MinCapacity()).thenReturn(minCapacity);
+      when(inParams.getServerlessV2MaxCapacity()).thenReturn(maxCapacity);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"db.t2.medium", "db.t3.micro", "db.t3.small"})
+  void newInstanceThrowsIllegalArgumentExceptionIfAuroraInstanceClassIsUnsupported(
+      String instanceClass) {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.isAuroraEngine()).thenReturn(true);
+      when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_AURORA_POSTGRES);
+      when(inParams.getInstanceClass()).thenReturn(instanceClass);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void newInstanceWithAuroraMysqlSmallInstanceClass() {
+    var vpc = randomString();
+    testNewInstance(List.of(randomString(), randomString()),
+                    List.of(randomString(), randomString()), vpc, inParams -> {
+          when(inParams.isAuroraEngine()).thenReturn(true);
+          when(inParams.getEngine()).thenReturn(Database.InputParameters.ENGINE_AURORA_MYSQL);
+          when(inParams.getInstanceClass()).thenReturn("db.t3.small");
+        });
+  }
+
+  static Stream<Arguments> isSupportedAuroraInstanceClassArgs() {
+    var mysql = Database.InputParameters.ENGINE_AURORA_MYSQL;
+    var postgres = Database.InputParameters.ENGINE_AURORA_POSTGRES;
+    return Stream.of(arguments(mysql, "db.t3.small", true),
+                     arguments(mysql, "db.t4g.medium", true),
+                     arguments(mysql, "db.t3.micro", false),
+                     arguments(mysql, "db.r5.large", true),
+                     arguments(postgres, "db.t3.small", false),
+                     arguments(postgres, "db.t2.medium", false),
+                     arguments(postgres, "db.t3.medium", true),
+                     arguments(postgres, "db.r6g.large", true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("isSupportedAuroraInstanceClassArgs")
+  void isSupportedAuroraInstanceClass(String engine, String instanceClass, boolean expected) {
+    assertEquals(expected, Database.isSupportedAuroraInstanceClass(engine, instanceClass));
+  }
+
+  @Test
+  void isServerlessV2AuroraPostgresVersion() {
+    assertTrue(Database.isServerlessV2AuroraPostgresVersion(null));
+    assertTrue(Database.isServerlessV2AuroraPostgresVersion("13.6"));
+    assertTrue(Database.isServerlessV2AuroraPostgresVersion("14.3"));
+    assertFalse(Database.isServerlessV2AuroraPostgresVersion("13.5"));
+    assertFalse(Database.isServerlessV2AuroraPostgresVersion("12.11"));
+    assertThrows(IllegalArgumentException.class,
+                 () -> Database.isServerlessV2AuroraPostgresVersion(randomString()));
+  }
+
+  @Test
+  void newInstanceThrowsIllegalArgumentExceptionIfServerlessV2WithoutAurora() {
+    var vpc = randomString();
+    var AZs = List.of(randomString(), randomString());
+    var subnets = List.of(randomString(), randomString());
+    Consumer<Database.InputParameters> conf = inParams -> {
+      when(inParams.isServerlessV2Enabled()).thenReturn(true);
+      when(inParams.getServerlessV2MinCapacity()).thenReturn(0.5);
+      when(inParams.getServerlessV2MaxCapacity()).thenReturn(1.0);
+    };
+    assertThrows(IllegalArgumentException.class, () -> testNewInstance(AZs, subnets, vpc, conf));
+  }
+
+  @Test
+  void isAuroraEngine() {
+    assertTrue(Database.InputParameters.builder()
+                                       .engine(Database.InputParameters.ENGINE_AURORA_POSTGRES)
+                                       .build()
+                                       .isAuroraEngine());
+    assertFalse(Database.InputParameters.builder().build().isAuroraEngine());
+    assertFalse(Database.InputParameters.builder().engine(null).build().isAuroraEngine());
+  }
+
+  @Test
+  void proxyEngineFamily() {
+    assertEquals("POSTGRESQL", Database.proxyEngineFamily(Database.InputParameters.ENGINE_POSTGRES));
+    assertEquals("POSTGRESQL", Database.proxyEngineFamily("aurora-postgresql"));
+    assertEquals("MYSQL", Database.proxyEngineFamily("mysql"));
+    assertEquals("MYSQL", Database.proxyEngineFamily("mariadb"));
+    assertEquals("MYSQL", Database.proxyEngineFamily("aurora-mysql"));
+    assertThrows(IllegalArgumentException.class, () -> Database.proxyEngineFamily(null));
+    assertThrows(IllegalArgumentException.class, () -> Database.proxyEngineFamily("oracle-ee"));
+    assertThrows(IllegalArgumentException.class, () -> Database.proxyEngineFamily("sqlserver-ex"));
+  }
+
   void testNewInstance(List<String> availabilityZones, List<String> isolatedSubnets, String vpc) {
+    testNewInstance(availabilityZones, isolatedSubnets, vpc, inParams -> { });
+  }
+
+  void testNewInstance(List<String> availabilityZones, List<String> isolatedSubnets, String vpc,
+                       Consumer<Database.InputParameters> inputParamsConfigurer) {
     StaticallyMockedCdk.executeTest(() -> {
       var scope = mock(Construct.class);
       var inputParam = mock(Database.InputParameters.class);
       when(inputParam.getInstanceClass()).thenReturn("postgres");
       when(inputParam.getStorageType()).thenReturn(mock(StorageType.class));
+      inputParamsConfigurer.accept(inputParam);
       var appEnvironment = mock(ApplicationEnvironment.class);
       when(appEnvironment.prefixed(any())).thenReturn(randomString());
       var netOutputParamsMock = mock(Network.OutputParameters.class);
@@ -153,6 +421,39 @@ class DatabaseTest {
     testGetParameter(Database::getDbEndpointAddress);
   }
 
+  @Test
+  void getDbProxyEndpointAddress() {
+    testGetParameter(Database::getDbProxyEndpointAddress);
+  }
+
+  @Test
+  void getDbReaderEndpointAddresses() {
+    var expected = randomString();
+    var iStringParameter = mock(IStringParameter.class);
+    when(iStringParameter.getStringValue()).thenReturn(expected);
+
+    StaticallyMockedCdk.executeTest(() -> {
+      try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+        mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(),
+                                                                                 any()))
+                             .thenReturn(iStringParameter);
+        var actual = Database.getDbReaderEndpointAddresses(mock(Construct.class),
+                                                           mock(ApplicationEnvironment.class), 2);
+        assertEquals(List.of(expected, expected), actual);
+      }
+    });
+  }
+
+  @Test
+  void getDbWriterEndpointAddress() {
+    testGetParameter(Database::getDbWriterEndpointAddress);
+  }
+
+  @Test
+  void getDbClusterReaderEndpointAddress() {
+    testGetParameter(Database::getDbClusterReaderEndpointAddress);
+  }
+
   @Test
   void getDbEndpointPort() {
     testGetParameter(Database::getDbEndpointPort);
@@ -176,30 +477,117 @@ class DatabaseTest {
   @Test
   void outputParametersFrom() {
     var dbEndpointAddress = randomString();
+    var dbProxyEndpointAddress = randomString();
+    var dbWriterEndpointAddress = randomString();
+    var dbClusterReaderEndpointAddress = randomString();
+    var dbEndpointPort = randomString();
+    var dbName = randomString();
+    var dbSecretArn = randomString();
+    var dbSecurityGroupId = randomString();
+
+    var expected = new Database.OutputParameters(dbEndpointAddress, () -> dbProxyEndpointAddress,
+                                                 () -> dbWriterEndpointAddress,
+                                                 () -> dbClusterReaderEndpointAddress,
+                                                 dbEndpointPort, dbName, dbSecretArn,
+                                                 dbSecurityGroupId, emptyList());
+    var iStringParameter = mock(IStringParameter.class);
+    // the proxy, writer and cluster reader endpoint addresses are read on demand, so they go last
+    when(iStringParameter.getStringValue()).thenReturn(dbEndpointAddress)
+                                           .thenReturn(dbEndpointPort)
+                                           .thenReturn(dbName)
+                                           .thenReturn(dbSecretArn)
+                                           .thenReturn(dbSecurityGroupId)
+                                           .thenReturn(dbProxyEndpointAddress)
+                                           .thenReturn(dbWriterEndpointAddress)
+                                           .thenReturn(dbClusterReaderEndpointAddress);
+
+    StaticallyMockedCdk.executeTest(() -> {
+      try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+        mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(),
+                                                                                 any()))
+                             .thenReturn(iStringParameter);
+        var actual = Database.outputParametersFrom(mock(Construct.class),
+                                                   mock(ApplicationEnvironment.class));
+        assertEquals(expected, actual);
+        assertEquals(dbProxyEndpointAddress, actual.getProxyEndpointAddress());
+        assertEquals(dbWriterEndpointAddress, actual.getWriterEndpointAddress());
+        assertEquals(dbClusterReaderEndpointAddress, actual.getClusterReaderEndpointAddress());
+        assertEquals(dbProxyEndpointAddress, actual.getProxyEndpointAddress());
+      }
+    });
+
+  }
+
+  @Test
+  void outputParametersFromWithReadReplicas() {
+    var dbEndpointAddress = randomString();
+    var dbProxyEndpointAddress = randomString();
+    var dbWriterEndpointAddress = randomString();
+    var dbClusterReaderEndpointAddress = randomString();
     var dbEndpointPort = randomString();
     var dbName = randomString();
     var dbSecretArn = randomString();
     var dbSecurityGroupId = randomString();
+    var readerEndpointAddress1 = randomString();
+    var readerEndpointAddress2 = randomString();
 
-    var expected = new Database.OutputParameters(dbEndpointAddress, dbEndpointPort, dbName,
-                                                 dbSecretArn, dbSecurityGroupId);
+    var expected = new Database.OutputParameters(dbEndpointAddress, () -> dbProxyEndpointAddress,
+                                                 () -> dbWriterEndpointAddress,
+                                                 () -> dbClusterReaderEndpointAddress,
+                                                 dbEndpointPort, dbName, dbSecretArn,
+                                                 dbSecurityGroupId,
+                                                 List.of(readerEndpointAddress1,
+                                                         readerEndpointAddress2));
     var iStringParameter = mock(IStringParameter.class);
+    // the proxy, writer and cluster reader endpoint addresses are read on demand, so they go last
     when(iStringParameter.getStringValue()).thenReturn(dbEndpointAddress)
                                            .thenReturn(dbEndpointPort)
                                            .thenReturn(dbName)
                                            .thenReturn(dbSecretArn)
-                                           .thenReturn(dbSecurityGroupId);
+                                           .thenReturn(dbSecurityGroupId)
+                                           .thenReturn(readerEndpointAddress1)
+                                           .thenReturn(readerEndpointAddress2)
+                                           .thenReturn(dbProxyEndpointAddress)
+                                           .thenReturn(dbWriterEndpointAddress)
+                                           .thenReturn(dbClusterReaderEndpointAddress);
 
     StaticallyMockedCdk.executeTest(() -> {
       try (var mockedStringParameter = mockStatic(StringParameter.class)) {
         mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(),
                                                                                  any()))
                              .thenReturn(iStringParameter);
-        assertEquals(expected, Database.outputParametersFrom(mock(Construct.class),
-                                                             mock(ApplicationEnvironment.class)));
+        var actual = Database.outputParametersFrom(mock(Construct.class),
+                                                   mock(ApplicationEnvironment.class), 2);
+        assertEquals(expected, actual);
+        assertEquals(dbProxyEndpointAddress, actual.getProxyEndpointAddress());
+        assertEquals(dbWriterEndpointAddress, actual.getWriterEndpointAddress());
+        assertEquals(dbClusterReaderEndpointAddress, actual.getClusterReaderEndpointAddress());
       }
     });
+  }
+
+  @Test
+  void outputParametersFromThrowsIllegalArgumentExceptionIfReadReplicasAreNegative() {
+    var scope = mock(Construct.class);
+    var appEnv = mock(ApplicationEnvironment.class);
+    assertThrows(IllegalArgumentException.class,
+                 () -> Database.outputParametersFrom(scope, appEnv, -1));
+  }
+
+  @Test
+  void testInputParametersDefaults() {
+    var input = Database.InputParameters.builder().build();
+    assertEquals(Database.InputParameters.DEFAULT_INSTANCE_CLASS, input.getInstanceClass());
+    assertEquals(Database.InputParameters.DEFAULT_ENGINE_VERSION, input.getEngineVersion());
 
+    var auroraInput = Database.InputParameters
+        .builder()
+        .engine(Database.InputParameters.ENGINE_AURORA_POSTGRES)
+        .build();
+    assertEquals(Database.InputParameters.DEFAULT_AURORA_INSTANCE_CLASS,
+                 auroraInput.getInstanceClass());
+    assertEquals(Database.InputParameters.DEFAULT_AURORA_ENGINE_VERSION,
+                 auroraInput.getEngineVersion());
   }
 
   @Test
@@ -218,6 +606,16 @@ class DatabaseTest {
     var port = random.nextInt();
     var backUpRetentionPeriod = random.nextInt();
     var deleteAutomatedBackupsEnabled = random.nextBoolean();
+    var proxyEnabled = random.nextBoolean();
+    var proxyConnectionBorrowTimeoutSeconds = random.nextInt();
+    var proxyMaxConnectionsPercent = random.nextInt();
+    var proxyTlsRequired = random.nextBoolean();
+    var readReplicas = random.nextInt();
+    var readReplicasInOtherAvailabilityZones = random.nextBoolean();
+    var readReplicaInstanceClass = randomString();
+    var serverlessV2Enabled = random.nextBoolean();
+    var serverlessV2MinCapacity = random.nextDouble();
+    var serverlessV2MaxCapacity = random.nextDouble();
     var input = Database.InputParameters.builder()
                                         .engineVersion(engineVersion)
                                         .instanceClass(instanceClass)
@@ -232,6 +630,16 @@ class DatabaseTest {
                                         .storageType(StorageType.GP2)
                                         .backUpRetentionPeriodInDays(backUpRetentionPeriod)
                                         .deleteAutomatedBackupsEnabled(deleteAutomatedBackupsEnabled)
+                                        .proxyEnabled(proxyEnabled)
+                                        .proxyConnectionBorrowTimeoutSeconds(proxyConnectionBorrowTimeoutSeconds)
+                                        .proxyMaxConnectionsPercent(proxyMaxConnectionsPercent)
+                                        .proxyTlsRequired(proxyTlsRequired)
+                                        .readReplicas(readReplicas)
+                                        .readReplicasInOtherAvailabilityZones(readReplicasInOtherAvailabilityZones)
+                                        .readReplicaInstanceClass(readReplicaInstanceClass)
+                                        .serverlessV2Enabled(serverlessV2Enabled)
+                                        .serverlessV2MinCapacity(serverlessV2MinCapacity)
+                                        .serverlessV2MaxCapacity(serverlessV2MaxCapacity)
                                         .build();
     assertNotNull(input);
     assertEquals(engine, input.getEngine());
@@ -249,6 +657,18 @@ class DatabaseTest {
     assertEquals(StorageType.GP2, input.getStorageType());
     assertEquals(backUpRetentionPeriod, input.getBackUpRetentionPeriodInDays());
     assertEquals(deleteAutomatedBackupsEnabled, input.isDeleteAutomatedBackupsEnabled());
+    assertEquals(proxyEnabled, input.isProxyEnabled());
+    assertEquals(proxyConnectionBorrowTimeoutSeconds,
+                 input.getProxyConnectionBorrowTimeoutSeconds());
+    assertEquals(proxyMaxConnectionsPercent, input.getProxyMaxConnectionsPercent());
+    assertEquals(proxyTlsRequired, input.isProxyTlsRequired());
+    assertEquals(readReplicas, input.getReadReplicas());
+    assertEquals(readReplicasInOtherAvailabilityZones,
+                 input.isReadReplicasInOtherAvailabilityZones());
+    assertEquals(readReplicaInstanceClass, input.getReadReplicaInstanceClass());
+    assertEquals(serverlessV2Enabled, input.isServerlessV2Enabled());
+    assertEquals(serverlessV2MinCapacity, input.getServerlessV2MinCapacity());
+    assertEquals(serverlessV2MaxCapacity, input.getServerlessV2MaxCapacity());
   }
 
   @Test
@@ -1,9 +1,11 @@
 package org.wcdevs.blog.cdk;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import software.amazon.awscdk.Environment;
 import software.amazon.awscdk.Fn;
 import software.amazon.awscdk.ICfnRuleConditionExpression;
@@ -11,6 +13,7 @@ import software.amazon.awscdk.services.ecr.IRepository;
 import software.amazon.awscdk.services.ecr.Repository;
 import software.amazon.awscdk.services.elasticloadbalancingv2.CfnListenerRule;
 import software.amazon.awscdk.services.iam.PolicyStatement;
+import software.amazon.awscdk.services.logs.ILogGroup;
 import software.amazon.awscdk.services.logs.RetentionDays;
 import software.constructs.Construct;
 
@@ -20,6 +23,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
@@ -27,12 +32,16 @@ import static java.util.Collections.emptyMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ElasticContainerServiceTest {
@@ -63,6 +72,27 @@ class ElasticContainerServiceTest {
                    List<PolicyStatement> taskPolicyStatements, Boolean isEcrSource,
                    Map<String, String> environmentVars, boolean stickySession,
                    List<String> securityGroupIdsToGrantIngressFromEcs) {
+    testNewInstance(httpListenerArn, httpsListenerArn, taskPolicyStatements, isEcrSource,
+                    environmentVars, stickySession, securityGroupIdsToGrantIngressFromEcs,
+                    inputParams -> {}, netOutParams -> {});
+  }
+
+  void testNewInstance(Consumer<ElasticContainerService.InputParameters> inputParamsStubber) {
+    testNewInstance(inputParamsStubber, netOutParams -> {});
+  }
+
+  void testNewInstance(Consumer<ElasticContainerService.InputParameters> inputParamsStubber,
+                       Consumer<Network.OutputParameters> netOutParamsStubber) {
+    testNewInstance(randomString(), randomString(), emptyList(), false, emptyMap(), false,
+                    emptyList(), inputParamsStubber, netOutParamsStubber);
+  }
+
+  void testNewInstance(String httpListenerArn, String httpsListenerArn,
+                       List<PolicyStatement> taskPolicyStatements, Boolean isEcrSource,
+                       Map<String, String> environmentVars, boolean stickySession,
+                       List<String> securityGroupIdsToGrantIngressFromEcs,
+                       Consumer<ElasticContainerService.InputParameters> inputParamsStubber,
+                       Consumer<Network.OutputParameters> netOutParamsStubber) {
     StaticallyMockedCdk.executeTest(() -> {
       // given
       try (
@@ -74,6 +104,8 @@ class ElasticContainerServiceTest {
                 .thenReturn(mock(ICfnRuleConditionExpression.class));
         mockedFn.when(() -> Fn.conditionNot(any()))
                 .thenReturn(mock(ICfnRuleConditionExpression.class));
+        mockedFn.when(() -> Fn.select(any(), any())).thenReturn(randomString());
+        mockedFn.when(() -> Fn.join(any(), any())).thenReturn(randomString());
         mockedRepository.when(() -> Repository.fromRepositoryName(any(), any(), any()))
                         .thenReturn(mock(IRepository.class));
 
@@ -101,10 +133,13 @@ class ElasticContainerServiceTest {
         when(inputParams.isStickySessionsEnabled()).thenReturn(stickySession);
         when(inputParams.getSecurityGroupIdsToGrantIngressFromEcs())
             .thenReturn(securityGroupIdsToGrantIngressFromEcs);
+        when(inputParams.getListenerRulePriority()).thenReturn(null);
+        inputParamsStubber.accept(inputParams);
 
         var netOutParams = mock(Network.OutputParameters.class);
         when(netOutParams.getHttpsListenerArn()).thenReturn(Optional.ofNullable(httpsListenerArn));
         when(netOutParams.getHttpListenerArn()).thenReturn(httpListenerArn);
+        netOutParamsStubber.accept(netOutParams);
 
         // when
         var actual = ElasticContainerService.newInstance(scope, id, awsEnvironment, appEnv,
@@ -115,19 +150,1085 @@ class ElasticContainerServiceTest {
     });
   }
 
+  static Stream<Arguments> newInstanceWithAutoScalingArgs() {
+    return Stream.of(arguments((Integer) null, null, null),
+                     arguments(RANDOM.nextInt(100), null, null),
+                     arguments(null, RANDOM.nextInt(100), null),
+                     arguments(null, null, RANDOM.nextInt(1000)),
+                     arguments(RANDOM.nextInt(100), RANDOM.nextInt(100), RANDOM.nextInt(1000)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithAutoScalingArgs")
+  void newInstanceWithAutoScaling(Integer cpuTarget, Integer memoryTarget,
+                                  Integer requestCountTarget) {
+    var autoScaling = ElasticContainerService.AutoScalingParameters
+        .builder()
+        .cpuUtilizationTargetPercent(cpuTarget)
+        .memoryUtilizationTargetPercent(memoryTarget)
+        .requestCountPerTarget(requestCountTarget)
+        .build();
+    testNewInstance(inputParams -> when(inputParams.getAutoScaling()).thenReturn(autoScaling));
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidAutoScalingInstancesCountArgs() {
+    return Stream.of(arguments(4, 2), arguments(-1, 2));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidAutoScalingInstancesCountArgs")
+  void newInstanceThrowsWithInvalidAutoScalingInstancesCount(int minInstancesCount,
+                                                             int maxInstancesCount) {
+    var autoScaling = ElasticContainerService.AutoScalingParameters
+        .builder()
+        .minInstancesCount(minInstancesCount)
+        .maxInstancesCount(maxInstancesCount)
+        .build();
+    Executable executable = () -> testNewInstance(inputParams -> when(inputParams.getAutoScaling())
+        .thenReturn(autoScaling));
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> newInstanceWithScheduledCapacitiesArgs() {
+    var scheduledCapacity = ElasticContainerService.ScheduledCapacity
+        .builder()
+        .name(randomString())
+        .schedule("cron(0 7 ? * MON-FRI *)")
+        .minInstancesCount(2)
+        .maxInstancesCount(6)
+        .build();
+    var minOnly = ElasticContainerService.ScheduledCapacity.builder()
+                                                           .name(randomString())
+                                                           .schedule("rate(1 day)")
+                                                           .minInstancesCount(1)
+                                                           .build();
+    var autoScaling = ElasticContainerService.AutoScalingParameters.builder().build();
+    return Stream.of(arguments(List.of(scheduledCapacity, minOnly), autoScaling),
+                     arguments(emptyList(), autoScaling));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithScheduledCapacitiesArgs")
+  void newInstanceWithScheduledCapacities(
+      List<ElasticContainerService.ScheduledCapacity> scheduledCapacities,
+      ElasticContainerService.AutoScalingParameters autoScaling
+                                         ) {
+    testNewInstance(inputParams -> {
+      when(inputParams.getScheduledCapacities()).thenReturn(scheduledCapacities);
+      when(inputParams.getAutoScaling()).thenReturn(autoScaling);
+    });
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidScheduledCapacitiesArgs() {
+    var autoScaling = ElasticContainerService.AutoScalingParameters.builder().build();
+    return Stream.of(arguments(2, 6, null), arguments(6, 2, autoScaling),
+                     arguments(-1, null, autoScaling));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidScheduledCapacitiesArgs")
+  void newInstanceThrowsWithInvalidScheduledCapacities(
+      Integer minInstancesCount, Integer maxInstancesCount,
+      ElasticContainerService.AutoScalingParameters autoScaling
+                                                      ) {
+    var scheduledCapacity = ElasticContainerService.ScheduledCapacity
+        .builder()
+        .name(randomString())
+        .schedule("cron(0 7 ? * MON-FRI *)")
+        .minInstancesCount(minInstancesCount)
+        .maxInstancesCount(maxInstancesCount)
+        .build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getScheduledCapacities()).thenReturn(List.of(scheduledCapacity));
+      when(inputParams.getAutoScaling()).thenReturn(autoScaling);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceWithCapacityProviderStrategy() {
+    var fargate = ElasticContainerService.CapacityProviderStrategyItem
+        .builder()
+        .capacityProvider(ElasticContainerService.CAPACITY_PROVIDER_FARGATE)
+        .base(RANDOM.nextInt(10))
+        .build();
+    var fargateSpot = ElasticContainerService.CapacityProviderStrategyItem
+        .builder()
+        .capacityProvider(ElasticContainerService.CAPACITY_PROVIDER_FARGATE_SPOT)
+        .weight(RANDOM.nextInt(10))
+        .build();
+    testNewInstance(inputParams -> when(inputParams.getCapacityProviderStrategy())
+        .thenReturn(List.of(fargate, fargateSpot)));
+  }
+
+  @Test
+  void newInstanceWithArm64RuntimePlatform() {
+    testNewInstance(inputParams -> {
+      when(inputParams.getCpuArchitecture())
+          .thenReturn(ElasticContainerService.CPU_ARCHITECTURE_ARM64);
+      when(inputParams.getOperatingSystemFamily())
+          .thenReturn(ElasticContainerService.OPERATING_SYSTEM_FAMILY_LINUX);
+      when(inputParams.getDockerImage().isBuiltFor(any())).thenReturn(true);
+    });
+  }
+
+  @Test
+  void newInstanceThrowsIfDockerImageIsNotBuiltForCpuArchitecture() {
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getCpuArchitecture())
+          .thenReturn(ElasticContainerService.CPU_ARCHITECTURE_ARM64);
+      when(inputParams.getDockerImage().isBuiltFor(any())).thenReturn(false);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceThrowsIfArm64IsUsedWithFargateSpot() {
+    var fargateSpot = ElasticContainerService.CapacityProviderStrategyItem
+        .builder()
+        .capacityProvider(ElasticContainerService.CAPACITY_PROVIDER_FARGATE_SPOT)
+        .weight(1)
+        .build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getCpuArchitecture())
+          .thenReturn(ElasticContainerService.CPU_ARCHITECTURE_ARM64);
+      when(inputParams.getDockerImage().isBuiltFor(any())).thenReturn(true);
+      when(inputParams.getCapacityProviderStrategy()).thenReturn(List.of(fargateSpot));
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void inputParametersRuntimePlatformIsNotSetByDefault() {
+    var actual = ElasticContainerService.newInputParameters(
+        mock(ElasticContainerService.DockerImage.class));
+
+    assertNull(actual.getCpuArchitecture());
+    assertNull(actual.getOperatingSystemFamily());
+  }
+
+  static Stream<Arguments> dockerImageIsBuiltForArgs() {
+    var x86 = ElasticContainerService.CPU_ARCHITECTURE_X86_64;
+    var arm64 = ElasticContainerService.CPU_ARCHITECTURE_ARM64;
+    return Stream.of(arguments(null, x86, true),
+                     arguments(emptyList(), x86, true),
+                     arguments(emptyList(), arm64, false),
+                     arguments(List.of(arm64), arm64, true),
+                     arguments(List.of(arm64), x86, false),
+                     arguments(List.of(x86, arm64), arm64, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("dockerImageIsBuiltForArgs")
+  void dockerImageIsBuiltFor(List<String> imageCpuArchitectures, String cpuArchitecture,
+                             boolean expected) {
+    var dockerImage = ElasticContainerService.DockerImage.builder()
+                                                         .cpuArchitectures(imageCpuArchitectures)
+                                                         .build();
+    assertEquals(expected, dockerImage.isBuiltFor(cpuArchitecture));
+  }
+
+  static Stream<Arguments> newInstanceWithSidecarContainersArgs() {
+    return Stream.of(arguments(null, null), arguments(64, 128));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithSidecarContainersArgs")
+  void newInstanceWithSidecarContainers(Integer sidecarCpu, Integer sidecarMemory) {
+    var volume = randomString();
+    var sidecar = ElasticContainerService.SidecarContainer
+        .builder()
+        .name(randomString())
+        .image(randomString())
+        .cpu(sidecarCpu)
+        .memory(sidecarMemory)
+        .essential(false)
+        .ports(List.of(RANDOM.nextInt(9000)))
+        .environmentVariables(Map.of(randomString(), randomString()))
+        .mountPoints(Map.of(volume, randomString()))
+        .containerDependencies(Map.of(randomString(),
+                                      ElasticContainerService.CONTAINER_CONDITION_HEALTHY))
+        .build();
+    testNewInstance(inputParams -> {
+      when(inputParams.getCpu()).thenReturn(256);
+      when(inputParams.getMemory()).thenReturn(512);
+      when(inputParams.getSidecarContainers()).thenReturn(List.of(sidecar));
+      when(inputParams.getSharedVolumes()).thenReturn(List.of(volume));
+      when(inputParams.getMountPoints()).thenReturn(Map.of(volume, randomString()));
+      when(inputParams.getContainerDependencies())
+          .thenReturn(Map.of(sidecar.getName(),
+                             ElasticContainerService.CONTAINER_CONDITION_START));
+    });
+  }
+
+  @Test
+  void newInstanceThrowsIfSidecarContainersTakeAllTaskResources() {
+    var sidecar = ElasticContainerService.SidecarContainer.builder()
+                                                          .name(randomString())
+                                                          .image(randomString())
+                                                          .cpu(256)
+                                                          .memory(256)
+                                                          .build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getCpu()).thenReturn(256);
+      when(inputParams.getMemory()).thenReturn(512);
+      when(inputParams.getSidecarContainers()).thenReturn(List.of(sidecar));
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> newInstanceWithTrafficShapingArgs() {
+    return Stream.of(arguments(null, null, null),
+                     arguments(RANDOM.nextInt(900), RANDOM.nextInt(300),
+                               ElasticContainerService.LOAD_BALANCING_ALGORITHM_ROUND_ROBIN),
+                     arguments(0, RANDOM.nextInt(300),
+                               ElasticContainerService.LOAD_BALANCING_ALGORITHM_LEAST_OUTSTANDING_REQUESTS),
+                     arguments(null, null,
+                               ElasticContainerService.LOAD_BALANCING_ALGORITHM_LEAST_OUTSTANDING_REQUESTS));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithTrafficShapingArgs")
+  void newInstanceWithTrafficShaping(Integer slowStartDuration, Integer deregistrationDelay,
+                                     String algorithm) {
+    testNewInstance(inputParams -> {
+      when(inputParams.getSlowStartDurationSeconds()).thenReturn(slowStartDuration);
+      when(inputParams.getDeregistrationDelaySeconds()).thenReturn(deregistrationDelay);
+      when(inputParams.getLoadBalancingAlgorithm()).thenReturn(algorithm);
+    });
+  }
+
+  static Stream<Arguments> newInstanceWithProtocolVersionArgs() {
+    return Stream.of(arguments(null, null),
+                     arguments(ElasticContainerService.PROTOCOL_VERSION_HTTP1, "200-299"),
+                     arguments(ElasticContainerService.PROTOCOL_VERSION_HTTP2, null),
+                     arguments(ElasticContainerService.PROTOCOL_VERSION_GRPC, "0-99"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithProtocolVersionArgs")
+  void newInstanceWithProtocolVersion(String protocolVersion, String healthCheckMatcher) {
+    testNewInstance(inputParams -> {
+      when(inputParams.getProtocolVersion()).thenReturn(protocolVersion);
+      when(inputParams.getHealthCheckMatcher()).thenReturn(healthCheckMatcher);
+      when(inputParams.isHttpsListenerAvailable()).thenReturn(true);
+    });
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {ElasticContainerService.PROTOCOL_VERSION_HTTP2,
+                          ElasticContainerService.PROTOCOL_VERSION_GRPC})
+  void newInstanceWithProtocolVersionAndBlueGreenDeployment(String protocolVersion) {
+    var blueGreenDeployment = ElasticContainerService.BlueGreenDeployment.builder()
+                                                                         .httpsTrafficRoute(true)
+                                                                         .build();
+    testNewInstance(inputParams -> {
+      when(inputParams.getProtocolVersion()).thenReturn(protocolVersion);
+      when(inputParams.getBlueGreenDeployment()).thenReturn(blueGreenDeployment);
+      when(inputParams.isHttpsListenerAvailable()).thenReturn(true);
+    }, netOutParams -> when(netOutParams.getEcsClusterName()).thenReturn(randomString()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {ElasticContainerService.PROTOCOL_VERSION_HTTP2,
+                          ElasticContainerService.PROTOCOL_VERSION_GRPC})
+  void newInstanceThrowsIfProtocolVersionIsUsedWithoutHttpsListener(String protocolVersion) {
+    StaticallyMockedCdk.executeTest(() -> {
+      // the listener arn read from the network is an unresolved token whether it exists or not
+      Supplier<String> lazyValue = ElasticContainerServiceTest::randomString;
+      var netOutParams = new Network.OutputParameters(
+          randomString(), randomString(), "${Token[TOKEN.42]}", randomString(), randomString(),
+          randomString(), emptyList(), emptyList(), emptyList(), randomString(), randomString(),
+          randomString(), lazyValue, lazyValue, emptyList(), lazyValue, lazyValue);
+      var dockerImage = ElasticContainerService.DockerImage.builder()
+                                                           .dockerImageUrl(randomString())
+                                                           .build();
+      var inputParams = ElasticContainerService.InputParameters.builder()
+                                                               .dockerImage(dockerImage)
+                                                               .protocolVersion(protocolVersion)
+                                                               .build();
+
+      Executable executable = () -> ElasticContainerService.newInstance(
+          mock(Construct.class), randomString(), mock(Environment.class),
+          mock(ApplicationEnvironment.class), inputParams, netOutParams);
+      assertThrows(IllegalArgumentException.class, executable);
+    });
+  }
+
+  @Test
+  void newInstanceThrowsIfGrpcIsUsedWithHttpBlueGreenTrafficRoute() {
+    var blueGreenDeployment = ElasticContainerService.BlueGreenDeployment.builder().build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getProtocolVersion())
+          .thenReturn(ElasticContainerService.PROTOCOL_VERSION_GRPC);
+      when(inputParams.getBlueGreenDeployment()).thenReturn(blueGreenDeployment);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceThrowsIfSlowStartIsUsedWithLeastOutstandingRequests() {
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getSlowStartDurationSeconds()).thenReturn(30);
+      when(inputParams.getLoadBalancingAlgorithm())
+          .thenReturn(ElasticContainerService.LOAD_BALANCING_ALGORITHM_LEAST_OUTSTANDING_REQUESTS);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceWithContainerLifecycleTuning() {
+    var healthCheck = ElasticContainerService.ContainerHealthCheck.builder()
+                                                                  .command(List.of(randomString()))
+                                                                  .build();
+    testNewInstance(inputParams -> {
+      when(inputParams.getHealthCheckGracePeriodSeconds()).thenReturn(RANDOM.nextInt(300));
+      when(inputParams.getContainerHealthCheck()).thenReturn(healthCheck);
+      when(inputParams.getContainerStartTimeoutSeconds()).thenReturn(RANDOM.nextInt(120));
+      when(inputParams.getContainerStopTimeoutSeconds()).thenReturn(RANDOM.nextInt(120));
+      when(inputParams.isInitProcessEnabled()).thenReturn(true);
+    });
+  }
+
+  @Test
+  void newInstanceThrowsIfContainerHealthCheckHasNoCommand() {
+    var healthCheck = ElasticContainerService.ContainerHealthCheck.builder().build();
+    Executable executable = () -> testNewInstance(inputParams -> when(
+        inputParams.getContainerHealthCheck()).thenReturn(healthCheck));
+    assertThrows(NullPointerException.class, executable);
+  }
+
+  static Stream<Arguments> newInstanceWithJvmProfileArgs() {
+    return Stream.of(arguments(Map.of()),
+                     arguments(Map.of("JAVA_TOOL_OPTIONS", "-Dfoo=bar")),
+                     arguments(Map.of("JAVA_TOOL_OPTIONS", " ", randomString(), randomString())));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithJvmProfileArgs")
+  void newInstanceWithJvmProfile(Map<String, String> environmentVariables) {
+    var jvmProfile = ElasticContainerService.JvmProfile.builder().build();
+    testNewInstance(inputParams -> {
+      when(inputParams.getEnvironmentVariables()).thenReturn(environmentVariables);
+      when(inputParams.getJvmProfile()).thenReturn(jvmProfile);
+    });
+  }
+
+  static Stream<Arguments> jvmProfileJavaToolOptionsArgs() {
+    var serial = ElasticContainerService.JvmProfile.GC_SERIAL;
+    var g1 = ElasticContainerService.JvmProfile.GC_G1;
+    var z = ElasticContainerService.JvmProfile.GC_Z;
+    return Stream.of(
+        arguments(256, 512, null, null, emptyList(),
+                  "-XX:MaxRAMPercentage=75 -XX:+UseSerialGC -XX:ActiveProcessorCount=1 "
+                  + "-XX:MaxMetaspaceSize=256m -XX:+ExitOnOutOfMemoryError"),
+        arguments(2048, 4096, null, null, emptyList(),
+                  "-XX:MaxRAMPercentage=75 -XX:+UseG1GC -XX:ActiveProcessorCount=2 "
+                  + "-XX:MaxMetaspaceSize=256m -XX:+ExitOnOutOfMemoryError"),
+        arguments(2048, 1024, null, null, emptyList(),
+                  "-XX:MaxRAMPercentage=75 -XX:+Use" + serial + " -XX:ActiveProcessorCount=2 "
+                  + "-XX:MaxMetaspaceSize=256m -XX:+ExitOnOutOfMemoryError"),
+        arguments(1536, 8192, 50, z, List.of("-Xss512k"),
+                  "-XX:MaxRAMPercentage=75 -XX:InitialRAMPercentage=50 -XX:+UseZGC "
+                  + "-XX:ActiveProcessorCount=2 -XX:MaxMetaspaceSize=256m "
+                  + "-XX:+ExitOnOutOfMemoryError -Xss512k"),
+        arguments(4096, 8192, null, g1, null,
+                  "-XX:MaxRAMPercentage=75 -XX:+UseG1GC -XX:ActiveProcessorCount=4 "
+                  + "-XX:MaxMetaspaceSize=256m -XX:+ExitOnOutOfMemoryError"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("jvmProfileJavaToolOptionsArgs")
+  void jvmProfileJavaToolOptions(int cpu, int memory, Integer initialRamPercentage,
+                                 String garbageCollector, List<String> additionalOptions,
+                                 String expected) {
+    var jvmProfile = ElasticContainerService.JvmProfile.builder()
+                                                       .initialRamPercentage(initialRamPercentage)
+                                                       .garbageCollector(garbageCollector)
+                                                       .additionalOptions(additionalOptions)
+                                                       .build();
+    assertEquals(expected, jvmProfile.javaToolOptions(cpu, memory));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 101})
+  void jvmProfileJavaToolOptionsThrowsIfMaxRamPercentageIsInvalid(int maxRamPercentage) {
+    var jvmProfile = ElasticContainerService.JvmProfile.builder()
+                                                       .maxRamPercentage(maxRamPercentage)
+                                                       .build();
+    assertThrows(IllegalArgumentException.class, () -> jvmProfile.javaToolOptions(256, 512));
+  }
+
+  @Test
+  void jvmProfile() {
+    var maxRamPercentage = RANDOM.nextInt();
+    var initialRamPercentage = RANDOM.nextInt();
+    var garbageCollector = randomString();
+    var maxMetaspaceSizeMb = RANDOM.nextInt();
+    var additionalOptions = List.of(randomString());
+    var actual = ElasticContainerService.JvmProfile.builder()
+                                                   .maxRamPercentage(maxRamPercentage)
+                                                   .initialRamPercentage(initialRamPercentage)
+                                                   .garbageCollector(garbageCollector)
+                                                   .maxMetaspaceSizeMb(maxMetaspaceSizeMb)
+                                                   .additionalOptions(additionalOptions)
+                                                   .build();
+
+    assertEquals(maxRamPercentage, actual.getMaxRamPercentage());
+    assertEquals(initialRamPercentage, actual.getInitialRamPercentage());
+    assertEquals(garbageCollector, actual.getGarbageCollector());
+    assertEquals(maxMetaspaceSizeMb, actual.getMaxMetaspaceSizeMb());
+    assertEquals(additionalOptions, actual.getAdditionalOptions());
+  }
+
+  @Test
+  void newInstanceWithServiceDiscovery() {
+    var callerSecurityGroupIds = List.of(randomString(), randomString());
+    testNewInstance(inputParams -> {
+      when(inputParams.getServiceDiscoveryName()).thenReturn(randomString());
+      when(inputParams.getServiceDiscoveryDnsTtlSeconds()).thenReturn(RANDOM.nextInt(60));
+      when(inputParams.getSecurityGroupIdsToAllowIngressToEcs()).thenReturn(callerSecurityGroupIds);
+    }, netOutParams -> when(netOutParams.getServiceDiscoveryNamespaceId())
+        .thenReturn(randomString()));
+  }
+
+  static Stream<Arguments> newInstanceWithDeploymentCircuitBreakerArgs() {
+    return Stream.of(arguments(true, true), arguments(true, false), arguments(false, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithDeploymentCircuitBreakerArgs")
+  void newInstanceWithDeploymentCircuitBreaker(boolean circuitBreakerEnabled,
+                                               boolean rollbackEnabled) {
+    testNewInstance(inputParams -> {
+      when(inputParams.isDeploymentCircuitBreakerEnabled()).thenReturn(circuitBreakerEnabled);
+      when(inputParams.isDeploymentRollbackEnabled()).thenReturn(rollbackEnabled);
+    });
+  }
+
+  static Stream<Arguments> newInstanceWithBlueGreenDeploymentArgs() {
+    var canary = ElasticContainerService.TRAFFIC_ROUTING_CANARY;
+    var linear = ElasticContainerService.TRAFFIC_ROUTING_LINEAR;
+    var allAtOnce = ElasticContainerService.TRAFFIC_ROUTING_ALL_AT_ONCE;
+    return Stream.of(arguments(canary, false, 5, 1D),
+                     arguments(linear, true, 5, null),
+                     arguments(allAtOnce, false, null, 0.5D),
+                     arguments(canary, true, null, null));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithBlueGreenDeploymentArgs")
+  void newInstanceWithBlueGreenDeployment(String trafficRoutingType, boolean httpsTrafficRoute,
+                                          Integer http5xxAlarmThreshold,
+                                          Double latencyAlarmThresholdSeconds) {
+    var blueGreenDeployment = ElasticContainerService.BlueGreenDeployment
+        .builder()
+        .trafficRoutingType(trafficRoutingType)
+        .httpsTrafficRoute(httpsTrafficRoute)
+        .http5xxAlarmThreshold(http5xxAlarmThreshold)
+        .latencyAlarmThresholdSeconds(latencyAlarmThresholdSeconds)
+        .build();
+    testNewInstance(inputParams -> when(inputParams.getBlueGreenDeployment())
+                        .thenReturn(blueGreenDeployment),
+                    netOutParams -> when(netOutParams.getEcsClusterName())
+                        .thenReturn(randomString()));
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidBlueGreenDeploymentArgs() {
+    var canary = ElasticContainerService.TRAFFIC_ROUTING_CANARY;
+    return Stream.of(arguments(randomString(), 10, false),
+                     arguments(canary, 0, false),
+                     arguments(canary, 100, false),
+                     arguments(canary, 10, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidBlueGreenDeploymentArgs")
+  void newInstanceThrowsWithInvalidBlueGreenDeployment(String trafficRoutingType,
+                                                       int trafficShiftPercentage,
+                                                       boolean circuitBreakerEnabled) {
+    var blueGreenDeployment = ElasticContainerService.BlueGreenDeployment
+        .builder()
+        .trafficRoutingType(trafficRoutingType)
+        .trafficShiftPercentage(trafficShiftPercentage)
+        .build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getBlueGreenDeployment()).thenReturn(blueGreenDeployment);
+      when(inputParams.isDeploymentCircuitBreakerEnabled()).thenReturn(circuitBreakerEnabled);
+    }, netOutParams -> when(netOutParams.getEcsClusterName()).thenReturn(randomString()));
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void blueGreenDeployment() {
+    var trafficRoutingType = randomString();
+    var trafficShiftPercentage = RANDOM.nextInt();
+    var trafficShiftIntervalMinutes = RANDOM.nextInt();
+    var blueTerminationWaitMinutes = RANDOM.nextInt();
+    var httpsTrafficRoute = RANDOM.nextBoolean();
+    var http5xxAlarmThreshold = RANDOM.nextInt();
+    var latencyAlarmThresholdSeconds = RANDOM.nextDouble();
+    var latencyAlarmPercentile = RANDOM.nextInt();
+    var alarmPeriodSeconds = RANDOM.nextInt();
+    var alarmEvaluationPeriods = RANDOM.nextInt();
+    var actual = ElasticContainerService.BlueGreenDeployment
+        .builder()
+        .trafficRoutingType(trafficRoutingType)
+        .trafficShiftPercentage(trafficShiftPercentage)
+        .trafficShiftIntervalMinutes(trafficShiftIntervalMinutes)
+        .blueTerminationWaitMinutes(blueTerminationWaitMinutes)
+        .httpsTrafficRoute(httpsTrafficRoute)
+        .http5xxAlarmThreshold(http5xxAlarmThreshold)
+        .latencyAlarmThresholdSeconds(latencyAlarmThresholdSeconds)
+        .latencyAlarmPercentile(latencyAlarmPercentile)
+        .alarmPeriodSeconds(alarmPeriodSeconds)
+        .alarmEvaluationPeriods(alarmEvaluationPeriods)
+        .build();
+
+    assertEquals(trafficRoutingType, actual.getTrafficRoutingType());
+    assertEquals(trafficShiftPercentage, actual.getTrafficShiftPercentage());
+    assertEquals(trafficShiftIntervalMinutes, actual.getTrafficShiftIntervalMinutes());
+    assertEquals(blueTerminationWaitMinutes, actual.getBlueTerminationWaitMinutes());
+    assertEquals(httpsTrafficRoute, actual.isHttpsTrafficRoute());
+    assertEquals(http5xxAlarmThreshold, actual.getHttp5xxAlarmThreshold());
+    assertEquals(latencyAlarmThresholdSeconds, actual.getLatencyAlarmThresholdSeconds());
+    assertEquals(latencyAlarmPercentile, actual.getLatencyAlarmPercentile());
+    assertEquals(alarmPeriodSeconds, actual.getAlarmPeriodSeconds());
+    assertEquals(alarmEvaluationPeriods, actual.getAlarmEvaluationPeriods());
+  }
+
+  @Test
+  void newInstanceWithNonBlockingAwsLogs() {
+    testNewInstance(inputParams -> {
+      when(inputParams.isAwsLogsNonBlocking()).thenReturn(true);
+      when(inputParams.getAwsLogsMaxBufferSize()).thenReturn(randomString());
+    });
+  }
+
+  static Stream<Arguments> newInstanceWithFireLensRouterArgs() {
+    var cloudWatch = ElasticContainerService.FireLensRouter.OUTPUT_CLOUDWATCH_LOGS;
+    var s3 = ElasticContainerService.FireLensRouter.OUTPUT_S3;
+    var firehose = ElasticContainerService.FireLensRouter.OUTPUT_KINESIS_FIREHOSE;
+    return Stream.of(arguments(cloudWatch, null, emptyMap(), null, emptyMap()),
+                     arguments(s3, "gzip", Map.of("upload_timeout", "1m"), randomString(),
+                               emptyMap()),
+                     arguments(firehose, "gzip", emptyMap(), null,
+                               Map.of(randomString(),
+                                      ElasticContainerService.CONTAINER_CONDITION_HEALTHY)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithFireLensRouterArgs")
+  void newInstanceWithFireLensRouter(String outputPlugin, String compression,
+                                     Map<String, String> outputOptions, String configFile,
+                                     Map<String, String> containerDependencies) {
+    var router = ElasticContainerService.FireLensRouter.builder()
+                                                       .outputPlugin(outputPlugin)
+                                                       .compression(compression)
+                                                       .outputOptions(outputOptions)
+                                                       .configFile(configFile)
+                                                       .build();
+    testNewInstance(inputParams -> {
+      when(inputParams.getCpu()).thenReturn(256);
+      when(inputParams.getMemory()).thenReturn(512);
+      when(inputParams.getFireLensRouter()).thenReturn(router);
+      when(inputParams.getContainerDependencies()).thenReturn(containerDependencies);
+    });
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidFireLensRouterArgs() {
+    var cloudWatch = ElasticContainerService.FireLensRouter.OUTPUT_CLOUDWATCH_LOGS;
+    return Stream.of(arguments(cloudWatch, "gzip", 32, 64),
+                     arguments(cloudWatch, null, 256, 64),
+                     arguments(cloudWatch, null, 32, 512));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidFireLensRouterArgs")
+  void newInstanceThrowsWithInvalidFireLensRouter(String outputPlugin, String compression,
+                                                  int cpu, int memory) {
+    var router = ElasticContainerService.FireLensRouter.builder()
+                                                       .outputPlugin(outputPlugin)
+                                                       .compression(compression)
+                                                       .cpu(cpu)
+                                                       .memory(memory)
+                                                       .build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getCpu()).thenReturn(256);
+      when(inputParams.getMemory()).thenReturn(512);
+      when(inputParams.getFireLensRouter()).thenReturn(router);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> taskRolePolicyStatementsArgs() {
+    var cloudWatch = ElasticContainerService.FireLensRouter.OUTPUT_CLOUDWATCH_LOGS;
+    var s3 = ElasticContainerService.FireLensRouter.OUTPUT_S3;
+    var statements = List.of(mock(PolicyStatement.class));
+    return Stream.of(arguments(null, emptyList(), false),
+                     arguments(null, statements, false),
+                     arguments(s3, statements, false),
+                     arguments(cloudWatch, emptyList(), true),
+                     arguments(cloudWatch, statements, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("taskRolePolicyStatementsArgs")
+  void taskRolePolicyStatements(String outputPlugin, List<PolicyStatement> statements,
+                                boolean grantsLogGroupWrites) {
+    var inputParams = mock(ElasticContainerService.InputParameters.class);
+    when(inputParams.getTaskRolePolicyStatements()).thenReturn(statements);
+    if (outputPlugin != null) {
+      when(inputParams.getFireLensRouter()).thenReturn(
+          ElasticContainerService.FireLensRouter.builder().outputPlugin(outputPlugin).build());
+    }
+    var logGroup = mock(ILogGroup.class);
+    when(logGroup.getLogGroupArn()).thenReturn(randomString());
+
+    StaticallyMockedCdk.executeTest(() -> {
+      var actual = ElasticContainerService.taskRolePolicyStatements(inputParams, logGroup);
+
+      var logGroupStatements = grantsLogGroupWrites ? 1 : 0;
+      assertEquals(statements.size() + logGroupStatements, actual.size());
+      assertTrue(actual.containsAll(statements));
+      verify(logGroup, times(logGroupStatements)).getLogGroupArn();
+    });
+  }
+
+  @Test
+  void fireLensRouter() {
+    var image = randomString();
+    var cpu = RANDOM.nextInt();
+    var memory = RANDOM.nextInt();
+    var outputPlugin = randomString();
+    var compression = randomString();
+    var outputOptions = Map.of(randomString(), randomString());
+    var ecsLogMetadataEnabled = RANDOM.nextBoolean();
+    var configFile = randomString();
+    var actual = ElasticContainerService.FireLensRouter.builder()
+                                                       .image(image)
+                                                       .cpu(cpu)
+                                                       .memory(memory)
+                                                       .outputPlugin(outputPlugin)
+                                                       .compression(compression)
+                                                       .outputOptions(outputOptions)
+                                                       .ecsLogMetadataEnabled(ecsLogMetadataEnabled)
+                                                       .configFile(configFile)
+                                                       .build();
+
+    assertEquals(image, actual.getImage());
+    assertEquals(cpu, actual.getCpu());
+    assertEquals(memory, actual.getMemory());
+    assertEquals(outputPlugin, actual.getOutputPlugin());
+    assertEquals(compression, actual.getCompression());
+    assertEquals(outputOptions, actual.getOutputOptions());
+    assertEquals(ecsLogMetadataEnabled, actual.isEcsLogMetadataEnabled());
+    assertEquals(configFile, actual.getConfigFile());
+  }
+
+  @Test
+  void newInstanceWithPrivateSubnetsPlacement() {
+    testNewInstance(inputParams -> when(inputParams.isPrivateSubnetsPlacement()).thenReturn(true),
+                    netOutParams -> when(netOutParams.getPrivateSubnets())
+                        .thenReturn(List.of(randomString())));
+  }
+
+  @Test
+  void newInstanceThrowsIfPrivateSubnetsPlacementIsUsedWithoutPrivateSubnets() {
+    Executable executable = () -> testNewInstance(inputParams -> when(
+        inputParams.isPrivateSubnetsPlacement()).thenReturn(true));
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> newInstanceWithListenerRoutingArgs() {
+    return Stream.of(arguments(List.of("/api/*"), emptyList(), null),
+                     arguments(emptyList(), List.of(randomString()), null),
+                     arguments(List.of("/api/*", "/v2/*"), List.of(randomString()), 1),
+                     arguments(List.of("*"), emptyList(), 50_000));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithListenerRoutingArgs")
+  void newInstanceWithListenerRouting(List<String> pathPatterns, List<String> hostHeaders,
+                                      Integer priority) {
+    testNewInstance(inputParams -> {
+      when(inputParams.getListenerRulePathPatterns()).thenReturn(pathPatterns);
+      when(inputParams.getListenerRuleHostHeaders()).thenReturn(hostHeaders);
+      when(inputParams.getListenerRulePriority()).thenReturn(priority);
+    });
+  }
+
+  static Stream<Arguments> newInstanceWithMethodBasedRoutingArgs() {
+    return Stream.of(arguments(List.of("GET", "HEAD"), emptyList()),
+                     arguments(List.of("POST", "PUT", "PATCH", "DELETE"),
+                               List.of(randomString())));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithMethodBasedRoutingArgs")
+  void newInstanceWithMethodBasedRouting(List<String> httpMethods, List<String> hostHeaders) {
+    testNewInstance(inputParams -> {
+      when(inputParams.getListenerRuleHttpMethods()).thenReturn(httpMethods);
+      when(inputParams.getListenerRuleHostHeaders()).thenReturn(hostHeaders);
+    });
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 0, 50_001})
+  void newInstanceThrowsWithInvalidListenerRulePriority(int priority) {
+    Executable executable = () -> testNewInstance(inputParams -> when(
+        inputParams.getListenerRulePriority()).thenReturn(priority));
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> listenerRulePriorityArgs() {
+    return Stream.of(arguments(emptyList(), emptyList(), emptyList(), 45_001, 50_000),
+                     arguments(List.of("*"), emptyList(), emptyList(), 45_001, 50_000),
+                     arguments(List.of("/api/*"), emptyList(), emptyList(), 5_001, 45_000),
+                     arguments(emptyList(), List.of(randomString()), emptyList(), 5_001, 45_000),
+                     arguments(List.of("*"), emptyList(), List.of("GET"), 5_001, 45_000));
+  }
+
+  @ParameterizedTest
+  @MethodSource("listenerRulePriorityArgs")
+  void listenerRulePriority(List<String> pathPatterns, List<String> hostHeaders,
+                            List<String> httpMethods, int minPriority, int maxPriority) {
+    var inputParams = mock(ElasticContainerService.InputParameters.class);
+    when(inputParams.getListenerRulePathPatterns()).thenReturn(pathPatterns);
+    when(inputParams.getListenerRuleHostHeaders()).thenReturn(hostHeaders);
+    when(inputParams.getListenerRuleHttpMethods()).thenReturn(httpMethods);
+    when(inputParams.getListenerRulePriority()).thenReturn(null);
+    var appEnv = new ApplicationEnvironment(randomString(), randomString());
+
+    var actual = ElasticContainerService.listenerRulePriority(appEnv, inputParams);
+
+    assertTrue(minPriority <= actual && actual <= maxPriority);
+    var sameAppEnv = new ApplicationEnvironment(appEnv.getApplicationName(),
+                                                appEnv.getEnvironmentName());
+    assertEquals(actual, ElasticContainerService.listenerRulePriority(sameAppEnv, inputParams));
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithoutPrioritiesIfListenerIsSharedArgs() {
+    var responseRule = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(List.of(randomString()))
+        .fixedResponseStatusCode("404")
+        .build();
+    return Stream.of(arguments(null, emptyList()), arguments(10, List.of(responseRule)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithoutPrioritiesIfListenerIsSharedArgs")
+  void newInstanceThrowsWithoutPrioritiesIfListenerIsShared(
+      Integer forwardPriority, List<ElasticContainerService.ListenerResponseRule> responseRules
+                                                           ) {
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.isListenerShared()).thenReturn(true);
+      when(inputParams.getListenerRulePriority()).thenReturn(forwardPriority);
+      when(inputParams.getListenerResponseRules()).thenReturn(responseRules);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceWithExplicitPrioritiesIfListenerIsShared() {
+    var responseRule = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(List.of(randomString()))
+        .priority(2)
+        .fixedResponseStatusCode("404")
+        .build();
+    testNewInstance(inputParams -> {
+      when(inputParams.isListenerShared()).thenReturn(true);
+      when(inputParams.getListenerRulePriority()).thenReturn(10);
+      when(inputParams.getListenerResponseRules()).thenReturn(List.of(responseRule));
+    });
+  }
+
+  static Stream<Arguments> newInstanceWithListenerResponseRulesArgs() {
+    var fixedResponse = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(List.of("/robots.txt"))
+        .fixedResponseStatusCode("200")
+        .fixedResponseBody("User-agent: *\nDisallow: /")
+        .build();
+    var redirect = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .hostHeaders(List.of(randomString()))
+        .priority(1)
+        .redirectStatusCode(ElasticContainerService.REDIRECT_STATUS_CODE_PERMANENT)
+        .redirectHost(randomString())
+        .build();
+    return Stream.of(arguments(List.of(fixedResponse)), arguments(List.of(fixedResponse, redirect)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithListenerResponseRulesArgs")
+  void newInstanceWithListenerResponseRules(
+      List<ElasticContainerService.ListenerResponseRule> responseRules
+                                           ) {
+    testNewInstance(inputParams -> when(inputParams.getListenerResponseRules())
+        .thenReturn(responseRules));
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidListenerResponseRulesArgs() {
+    var paths = List.of(randomString());
+    return Stream.of(arguments(paths, null, null, null),
+                     arguments(paths, null, "200",
+                               ElasticContainerService.REDIRECT_STATUS_CODE_TEMPORARY),
+                     arguments(emptyList(), null, "200", null),
+                     arguments(paths, 0, "200", null));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidListenerResponseRulesArgs")
+  void newInstanceThrowsWithInvalidListenerResponseRules(List<String> pathPatterns,
+                                                         Integer priority,
+                                                         String fixedResponseStatusCode,
+                                                         String redirectStatusCode) {
+    var responseRule = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(pathPatterns)
+        .priority(priority)
+        .fixedResponseStatusCode(fixedResponseStatusCode)
+        .redirectStatusCode(redirectStatusCode)
+        .build();
+    Executable executable = () -> testNewInstance(inputParams -> when(
+        inputParams.getListenerResponseRules()).thenReturn(List.of(responseRule)));
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithDuplicatedListenerRulePrioritiesArgs() {
+    return Stream.of(arguments(10, 10, null), arguments(10, null, 10));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithDuplicatedListenerRulePrioritiesArgs")
+  void newInstanceThrowsWithDuplicatedListenerRulePriorities(Integer responsePriority,
+                                                             Integer otherResponsePriority,
+                                                             Integer forwardPriority) {
+    var responseRule = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(List.of(randomString()))
+        .priority(responsePriority)
+        .fixedResponseStatusCode("404")
+        .build();
+    var otherResponseRule = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(List.of(randomString()))
+        .priority(otherResponsePriority)
+        .fixedResponseStatusCode("404")
+        .build();
+    Executable executable = () -> testNewInstance(inputParams -> {
+      when(inputParams.getListenerRulePriority()).thenReturn(forwardPriority);
+      when(inputParams.getListenerResponseRules())
+          .thenReturn(List.of(responseRule, otherResponseRule));
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void listenerResponseRulePriority() {
+    var responseRule = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(List.of(randomString()))
+        .build();
+    var appEnv = new ApplicationEnvironment(randomString(), randomString());
+
+    var actual = ElasticContainerService.listenerResponseRulePriority(appEnv, responseRule);
+
+    assertTrue(2 <= actual && actual <= 5_000);
+    assertEquals(actual, ElasticContainerService.listenerResponseRulePriority(appEnv, responseRule));
+  }
+
+  @Test
+  void listenerResponseRule() {
+    var pathPatterns = List.of(randomString());
+    var hostHeaders = List.of(randomString());
+    var priority = RANDOM.nextInt();
+    var fixedResponseStatusCode = randomString();
+    var fixedResponseContentType = randomString();
+    var fixedResponseBody = randomString();
+    var redirectStatusCode = randomString();
+    var redirectProtocol = randomString();
+    var redirectHost = randomString();
+    var redirectPort = randomString();
+    var redirectPath = randomString();
+    var redirectQuery = randomString();
+    var actual = ElasticContainerService.ListenerResponseRule
+        .builder()
+        .pathPatterns(pathPatterns)
+        .hostHeaders(hostHeaders)
+        .priority(priority)
+        .fixedResponseStatusCode(fixedResponseStatusCode)
+        .fixedResponseContentType(fixedResponseContentType)
+        .fixedResponseBody(fixedResponseBody)
+        .redirectStatusCode(redirectStatusCode)
+        .redirectProtocol(redirectProtocol)
+        .redirectHost(redirectHost)
+        .redirectPort(redirectPort)
+        .redirectPath(redirectPath)
+        .redirectQuery(redirectQuery)
+        .build();
+
+    assertEquals(pathPatterns, actual.getPathPatterns());
+    assertEquals(hostHeaders, actual.getHostHeaders());
+    assertEquals(priority, actual.getPriority());
+    assertEquals(fixedResponseStatusCode, actual.getFixedResponseStatusCode());
+    assertEquals(fixedResponseContentType, actual.getFixedResponseContentType());
+    assertEquals(fixedResponseBody, actual.getFixedResponseBody());
+    assertEquals(redirectStatusCode, actual.getRedirectStatusCode());
+    assertEquals(redirectProtocol, actual.getRedirectProtocol());
+    assertEquals(redirectHost, actual.getRedirectHost());
+    assertEquals(redirectPort, actual.getRedirectPort());
+    assertEquals(redirectPath, actual.getRedirectPath());
+    assertEquals(redirectQuery, actual.getRedirectQuery());
+  }
+
+  @Test
+  void containerHealthCheck() {
+    var command = List.of(randomString());
+    var intervalSeconds = RANDOM.nextInt();
+    var timeoutSeconds = RANDOM.nextInt();
+    var retries = RANDOM.nextInt();
+    var startPeriodSeconds = RANDOM.nextInt();
+    var actual = ElasticContainerService.ContainerHealthCheck.builder()
+                                                             .command(command)
+                                                             .intervalSeconds(intervalSeconds)
+                                                             .timeoutSeconds(timeoutSeconds)
+                                                             .retries(retries)
+                                                             .startPeriodSeconds(startPeriodSeconds)
+                                                             .build();
+
+    assertEquals(command, actual.getCommand());
+    assertEquals(intervalSeconds, actual.getIntervalSeconds());
+    assertEquals(timeoutSeconds, actual.getTimeoutSeconds());
+    assertEquals(retries, actual.getRetries());
+    assertEquals(startPeriodSeconds, actual.getStartPeriodSeconds());
+  }
+
+  @Test
+  void sidecarContainer() {
+    var name = randomString();
+    var image = randomString();
+    var cpu = RANDOM.nextInt();
+    var memory = RANDOM.nextInt();
+    var essential = RANDOM.nextBoolean();
+    var ports = List.of(RANDOM.nextInt());
+    var environmentVariables = Map.of(randomString(), randomString());
+    var mountPoints = Map.of(randomString(), randomString());
+    var containerDependencies = Map.of(randomString(), randomString());
+    var actual = ElasticContainerService.SidecarContainer.builder()
+                                                         .name(name)
+                                                         .image(image)
+                                                         .cpu(cpu)
+                                                         .memory(memory)
+                                                         .essential(essential)
+                                                         .ports(ports)
+                                                         .environmentVariables(environmentVariables)
+                                                         .mountPoints(mountPoints)
+                                                         .containerDependencies(containerDependencies)
+                                                         .build();
+
+    assertEquals(name, actual.getName());
+    assertEquals(image, actual.getImage());
+    assertEquals(cpu, actual.getCpu());
+    assertEquals(memory, actual.getMemory());
+    assertEquals(essential, actual.isEssential());
+    assertEquals(ports, actual.getPorts());
+    assertEquals(environmentVariables, actual.getEnvironmentVariables());
+    assertEquals(mountPoints, actual.getMountPoints());
+    assertEquals(containerDependencies, actual.getContainerDependencies());
+  }
+
+  @Test
+  void containerName() {
+    var appEnv = new ApplicationEnvironment(randomString(), randomString());
+    assertEquals(appEnv.prefixed("container"), ElasticContainerService.containerName(appEnv));
+  }
+
+  @Test
+  void capacityProviderStrategyItem() {
+    var capacityProvider = randomString();
+    var base = RANDOM.nextInt();
+    var weight = RANDOM.nextInt();
+    var actual = ElasticContainerService.CapacityProviderStrategyItem
+        .builder()
+        .capacityProvider(capacityProvider)
+        .base(base)
+        .weight(weight)
+        .build();
+
+    assertEquals(capacityProvider, actual.getCapacityProvider());
+    assertEquals(base, actual.getBase());
+    assertEquals(weight, actual.getWeight());
+  }
+
+  @Test
+  void scheduledCapacity() {
+    var name = randomString();
+    var schedule = randomString();
+    var timezone = randomString();
+    var minInstancesCount = RANDOM.nextInt();
+    var maxInstancesCount = RANDOM.nextInt();
+    var actual = ElasticContainerService.ScheduledCapacity.builder()
+                                                          .name(name)
+                                                          .schedule(schedule)
+                                                          .timezone(timezone)
+                                                          .minInstancesCount(minInstancesCount)
+                                                          .maxInstancesCount(maxInstancesCount)
+                                                          .build();
+
+    assertEquals(name, actual.getName());
+    assertEquals(schedule, actual.getSchedule());
+    assertEquals(timezone, actual.getTimezone());
+    assertEquals(minInstancesCount, actual.getMinInstancesCount());
+    assertEquals(maxInstancesCount, actual.getMaxInstancesCount());
+  }
+
+  @Test
+  void autoScalingParameters() {
+    var minInstancesCount = RANDOM.nextInt();
+    var maxInstancesCount = RANDOM.nextInt();
+    var cpuUtilizationTargetPercent = RANDOM.nextInt();
+    var memoryUtilizationTargetPercent = RANDOM.nextInt();
+    var requestCountPerTarget = RANDOM.nextInt();
+    var scaleInCooldownSeconds = RANDOM.nextInt();
+    var scaleOutCooldownSeconds = RANDOM.nextInt();
+    var actual = ElasticContainerService.AutoScalingParameters
+        .builder()
+        .minInstancesCount(minInstancesCount)
+        .maxInstancesCount(maxInstancesCount)
+        .cpuUtilizationTargetPercent(cpuUtilizationTargetPercent)
+        .memoryUtilizationTargetPercent(memoryUtilizationTargetPercent)
+        .requestCountPerTarget(requestCountPerTarget)
+        .scaleInCooldownSeconds(scaleInCooldownSeconds)
+        .scaleOutCooldownSeconds(scaleOutCooldownSeconds)
+        .build();
+
+    assertEquals(minInstancesCount, actual.getMinInstancesCount());
+    assertEquals(maxInstancesCount, actual.getMaxInstancesCount());
+    assertEquals(cpuUtilizationTargetPercent, actual.getCpuUtilizationTargetPercent());
+    assertEquals(memoryUtilizationTargetPercent, actual.getMemoryUtilizationTargetPercent());
+    assertEquals(requestCountPerTarget, actual.getRequestCountPerTarget());
+    assertEquals(scaleInCooldownSeconds, actual.getScaleInCooldownSeconds());
+    assertEquals(scaleOutCooldownSeconds, actual.getScaleOutCooldownSeconds());
+  }
+
   @Test
   void newInputParametersOverload2OK() {
     var dockerImage = mock(ElasticContainerService.DockerImage.class);
     var actual = ElasticContainerService.newInputParameters(dockerImage);
     assertNotNull(actual);
     assertTrue(actual.getEnvironmentVariables().isEmpty());
+    assertTrue(actual.getScheduledCapacities().isEmpty());
   }
 
   @Test
   void testDockerImageGetDockerRepositoryName() {
     var expected = randomString();
     var dockerImage = new ElasticContainerService.DockerImage(expected, randomString(),
-                                                              randomString());
+                                                              randomString(), emptyList());
 
     assertEquals(expected, dockerImage.getDockerRepositoryName());
   }
@@ -136,7 +1237,7 @@ class ElasticContainerServiceTest {
   void testDockerImageGetDockerImageTag() {
     var expected = randomString();
     var dockerImage = new ElasticContainerService.DockerImage(randomString(), expected,
-                                                              randomString());
+                                                              randomString(), emptyList());
 
     assertEquals(expected, dockerImage.getDockerImageTag());
   }
@@ -145,7 +1246,7 @@ class ElasticContainerServiceTest {
   void testDockerImageGetDockerImageUrl() {
     var expected = randomString();
     var dockerImage = new ElasticContainerService.DockerImage(randomString(), randomString(),
-                                                              expected);
+                                                              expected, emptyList());
 
     assertEquals(expected, dockerImage.getDockerImageUrl());
   }
@@ -153,13 +1254,14 @@ class ElasticContainerServiceTest {
   @Test
   void dockerImageIsEcrSourceReturnsTrueIfDockerRepositoryNameIsNotNull() {
     assertTrue(new ElasticContainerService.DockerImage(randomString(), randomString(),
-                                                       randomString())
+                                                       randomString(), emptyList())
                    .isEcrSource());
   }
 
   @Test
   void dockerImageIsEcrSourceReturnsFalseIfDockerRepositoryNameIsNotNull() {
-    assertFalse(new ElasticContainerService.DockerImage(null, randomString(), randomString())
+    assertFalse(new ElasticContainerService.DockerImage(null, randomString(), randomString(),
+                                                        emptyList())
                     .isEcrSource());
   }
 
@@ -214,6 +1316,46 @@ class ElasticContainerServiceTest {
       var securityGroupIdsToGrantIngressFromEcs = List.of(randomString());
       var taskRolePolicyStatements = List.of(mock(PolicyStatement.class));
       var unhealthyThresholdCount = RANDOM.nextInt();
+      var autoScaling = ElasticContainerService.AutoScalingParameters.builder().build();
+      var scheduledCapacities = List.of(ElasticContainerService.ScheduledCapacity.builder()
+                                                                                 .build());
+      var capacityProviderStrategy
+          = List.of(ElasticContainerService.CapacityProviderStrategyItem.builder().build());
+      var cpuArchitecture = randomString();
+      var operatingSystemFamily = randomString();
+      var sidecarContainers = List.of(ElasticContainerService.SidecarContainer.builder().build());
+      var sharedVolumes = List.of(randomString());
+      var mountPoints = Map.of(randomString(), randomString());
+      var containerDependencies = Map.of(randomString(), randomString());
+      var slowStartDurationSeconds = RANDOM.nextInt();
+      var deregistrationDelaySeconds = RANDOM.nextInt();
+      var loadBalancingAlgorithm = randomString();
+      var protocolVersion = randomString();
+      var httpsListenerAvailable = RANDOM.nextBoolean();
+      var healthCheckMatcher = randomString();
+      var listenerRulePathPatterns = List.of(randomString());
+      var listenerRuleHostHeaders = List.of(randomString());
+      var listenerRuleHttpMethods = List.of(randomString());
+      var listenerRulePriority = RANDOM.nextInt();
+      var listenerShared = RANDOM.nextBoolean();
+      var listenerResponseRules
+          = List.of(ElasticContainerService.ListenerResponseRule.builder().build());
+      var healthCheckGracePeriodSeconds = RANDOM.nextInt();
+      var containerHealthCheck = ElasticContainerService.ContainerHealthCheck.builder().build();
+      var containerStartTimeoutSeconds = RANDOM.nextInt();
+      var containerStopTimeoutSeconds = RANDOM.nextInt();
+      var initProcessEnabled = RANDOM.nextBoolean();
+      var jvmProfile = ElasticContainerService.JvmProfile.builder().build();
+      var serviceDiscoveryName = randomString();
+      var serviceDiscoveryDnsTtlSeconds = RANDOM.nextInt();
+      var securityGroupIdsToAllowIngressToEcs = List.of(randomString());
+      var deploymentCircuitBreakerEnabled = RANDOM.nextBoolean();
+      var deploymentRollbackEnabled = RANDOM.nextBoolean();
+      var blueGreenDeployment = ElasticContainerService.BlueGreenDeployment.builder().build();
+      var awsLogsNonBlocking = RANDOM.nextBoolean();
+      var awsLogsMaxBufferSize = randomString();
+      var fireLensRouter = ElasticContainerService.FireLensRouter.builder().build();
+      var privateSubnetsPlacement = RANDOM.nextBoolean();
       var actual = ElasticContainerService.InputParameters
           .builder()
           .applicationPort(applicationPort)
@@ -238,6 +1380,43 @@ class ElasticContainerServiceTest {
           .securityGroupIdsToGrantIngressFromEcs(securityGroupIdsToGrantIngressFromEcs)
           .taskRolePolicyStatements(taskRolePolicyStatements)
           .unhealthyThresholdCount(unhealthyThresholdCount)
+          .autoScaling(autoScaling)
+          .scheduledCapacities(scheduledCapacities)
+          .capacityProviderStrategy(capacityProviderStrategy)
+          .cpuArchitecture(cpuArchitecture)
+          .operatingSystemFamily(operatingSystemFamily)
+          .sidecarContainers(sidecarContainers)
+          .sharedVolumes(sharedVolumes)
+          .mountPoints(mountPoints)
+          .containerDependencies(containerDependencies)
+          .slowStartDurationSeconds(slowStartDurationSeconds)
+          .deregistrationDelaySeconds(deregistrationDelaySeconds)
+          .loadBalancingAlgorithm(loadBalancingAlgorithm)
+          .protocolVersion(protocolVersion)
+          .httpsListenerAvailable(httpsListenerAvailable)
+          .healthCheckMatcher(healthCheckMatcher)
+          .listenerRulePathPatterns(listenerRulePathPatterns)
+          .listenerRuleHostHeaders(listenerRuleHostHeaders)
+          .listenerRuleHttpMethods(listenerRuleHttpMethods)
+          .listenerRulePriority(listenerRulePriority)
+          .listenerShared(listenerShared)
+          .listenerResponseRules(listenerResponseRules)
+          .healthCheckGracePeriodSeconds(healthCheckGracePeriodSeconds)
+          .containerHealthCheck(containerHealthCheck)
+          .containerStartTimeoutSeconds(containerStartTimeoutSeconds)
+          .containerStopTimeoutSeconds(containerStopTimeoutSeconds)
+          .initProcessEnabled(initProcessEnabled)
+          .jvmProfile(jvmProfile)
+          .serviceDiscoveryName(serviceDiscoveryName)
+          .serviceDiscoveryDnsTtlSeconds(serviceDiscoveryDnsTtlSeconds)
+          .securityGroupIdsToAllowIngressToEcs(securityGroupIdsToAllowIngressToEcs)
+          .deploymentCircuitBreakerEnabled(deploymentCircuitBreakerEnabled)
+          .deploymentRollbackEnabled(deploymentRollbackEnabled)
+          .blueGreenDeployment(blueGreenDeployment)
+          .awsLogsNonBlocking(awsLogsNonBlocking)
+          .awsLogsMaxBufferSize(awsLogsMaxBufferSize)
+          .fireLensRouter(fireLensRouter)
+          .privateSubnetsPlacement(privateSubnetsPlacement)
           .build();
 
       assertEquals(applicationPort, actual.getApplicationPort());
@@ -264,6 +1443,44 @@ class ElasticContainerServiceTest {
       assertEquals(securityGroupIdsToGrantIngressFromEcs, actual.getSecurityGroupIdsToGrantIngressFromEcs());
       assertEquals(taskRolePolicyStatements, actual.getTaskRolePolicyStatements());
       assertEquals(unhealthyThresholdCount, actual.getUnhealthyThresholdCount());
+      assertSame(autoScaling, actual.getAutoScaling());
+      assertEquals(scheduledCapacities, actual.getScheduledCapacities());
+      assertEquals(capacityProviderStrategy, actual.getCapacityProviderStrategy());
+      assertEquals(cpuArchitecture, actual.getCpuArchitecture());
+      assertEquals(operatingSystemFamily, actual.getOperatingSystemFamily());
+      assertEquals(sidecarContainers, actual.getSidecarContainers());
+      assertEquals(sharedVolumes, actual.getSharedVolumes());
+      assertEquals(mountPoints, actual.getMountPoints());
+      assertEquals(containerDependencies, actual.getContainerDependencies());
+      assertEquals(slowStartDurationSeconds, actual.getSlowStartDurationSeconds());
+      assertEquals(deregistrationDelaySeconds, actual.getDeregistrationDelaySeconds());
+      assertEquals(loadBalancingAlgorithm, actual.getLoadBalancingAlgorithm());
+      assertEquals(protocolVersion, actual.getProtocolVersion());
+      assertEquals(httpsListenerAvailable, actual.isHttpsListenerAvailable());
+      assertEquals(healthCheckMatcher, actual.getHealthCheckMatcher());
+      assertEquals(listenerRulePathPatterns, actual.getListenerRulePathPatterns());
+      assertEquals(listenerRuleHostHeaders, actual.getListenerRuleHostHeaders());
+      assertEquals(listenerRuleHttpMethods, actual.getListenerRuleHttpMethods());
+      assertEquals(listenerRulePriority, actual.getListenerRulePriority());
+      assertEquals(listenerShared, actual.isListenerShared());
+      assertEquals(listenerResponseRules, actual.getListenerResponseRules());
+      assertEquals(healthCheckGracePeriodSeconds, actual.getHealthCheckGracePeriodSeconds());
+      assertSame(containerHealthCheck, actual.getContainerHealthCheck());
+      assertEquals(containerStartTimeoutSeconds, actual.getContainerStartTimeoutSeconds());
+      assertEquals(containerStopTimeoutSeconds, actual.getContainerStopTimeoutSeconds());
+      assertEquals(initProcessEnabled, actual.isInitProcessEnabled());
+      assertSame(jvmProfile, actual.getJvmProfile());
+      assertEquals(serviceDiscoveryName, actual.getServiceDiscoveryName());
+      assertEquals(serviceDiscoveryDnsTtlSeconds, actual.getServiceDiscoveryDnsTtlSeconds());
+      assertEquals(securityGroupIdsToAllowIngressToEcs,
+                   actual.getSecurityGroupIdsToAllowIngressToEcs());
+      assertEquals(deploymentCircuitBreakerEnabled, actual.isDeploymentCircuitBreakerEnabled());
+      assertEquals(deploymentRollbackEnabled, actual.isDeploymentRollbackEnabled());
+      assertSame(blueGreenDeployment, actual.getBlueGreenDeployment());
+      assertEquals(awsLogsNonBlocking, actual.isAwsLogsNonBlocking());
+      assertEquals(awsLogsMaxBufferSize, actual.getAwsLogsMaxBufferSize());
+      assertSame(fireLensRouter, actual.getFireLensRouter());
+      assertEquals(privateSubnetsPlacement, actual.isPrivateSubnetsPlacement());
     });
   }
 
@@ -272,13 +1489,16 @@ class ElasticContainerServiceTest {
     var dockerImageUrl = randomString();
     var dockerImageTag = randomString();
     var dockerRepositoryName = randomString();
+    var cpuArchitectures = List.of(randomString());
     var dockerImage = ElasticContainerService.DockerImage.builder()
                                                          .dockerImageUrl(dockerImageUrl)
                                                          .dockerImageTag(dockerImageTag)
                                                          .dockerRepositoryName(dockerRepositoryName)
+                                                         .cpuArchitectures(cpuArchitectures)
                                                          .build();
     assertEquals(dockerImageUrl, dockerImage.getDockerImageUrl());
     assertEquals(dockerImageTag, dockerImage.getDockerImageTag());
     assertEquals(dockerRepositoryName, dockerImage.getDockerRepositoryName());
+    assertEquals(cpuArchitectures, dockerImage.getCpuArchitectures());
   }
 }
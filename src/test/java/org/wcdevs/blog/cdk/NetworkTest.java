@@ -15,6 +15,7 @@ import software.amazon.awscdk.services.ecs.Cluster;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationListener;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ApplicationLoadBalancer;
 import software.amazon.awscdk.services.elasticloadbalancingv2.ListenerCertificate;
+import software.amazon.awscdk.services.elasticloadbalancingv2.SslPolicy;
 import software.amazon.awscdk.services.ssm.IStringParameter;
 import software.amazon.awscdk.services.ssm.StringParameter;
 import software.constructs.Construct;
@@ -26,6 +27,7 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.UUID;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -36,9 +38,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 class NetworkTest {
@@ -69,8 +74,125 @@ class NetworkTest {
     testNewInstance(null, 1, 1, 1, 1);
   }
 
+  @Test
+  void newInstanceWithFargateCapacityProviders() {
+    testNewInstance(null, 1, 1, 1, 1,
+                    inputParams -> when(inputParams.isFargateCapacityProvidersEnabled())
+                        .thenReturn(true));
+  }
+
+  static Stream<Arguments> newInstanceWithPrivateSubnetsArgs() {
+    return Stream.of(arguments(1, 1, false), arguments(2, 0, true), arguments(0, 0, false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithPrivateSubnetsArgs")
+  void newInstanceWithPrivateSubnets(int numberOfPrivateSubnetsPerAZ, int natGatewayNumber,
+                                     boolean natGatewayPerAZ) {
+    testNewInstance(null, 1, 1, natGatewayNumber, 2, inputParams -> {
+      when(inputParams.getNumberOfPrivateSubnetsPerAZ()).thenReturn(numberOfPrivateSubnetsPerAZ);
+      when(inputParams.isNatGatewayPerAZ()).thenReturn(natGatewayPerAZ);
+    });
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidPrivateSubnetsArgs() {
+    return Stream.of(arguments(-1, 1, false), arguments(1, 0, false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidPrivateSubnetsArgs")
+  void newInstanceThrowsWithInvalidPrivateSubnets(int numberOfPrivateSubnetsPerAZ,
+                                                  int natGatewayNumber, boolean natGatewayPerAZ) {
+    Executable executable = () -> newInstanceWithPrivateSubnets(numberOfPrivateSubnetsPerAZ,
+                                                                natGatewayNumber, natGatewayPerAZ);
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  @Test
+  void newInstanceWithContainerInsights() {
+    testNewInstance(null, 1, 1, 1, 1,
+                    inputParams -> when(inputParams.isContainerInsightsEnabled()).thenReturn(true));
+  }
+
+  @Test
+  void newInstanceWithServiceDiscoveryNamespace() {
+    testNewInstance(null, 1, 1, 1, 1,
+                    inputParams -> when(inputParams.getServiceDiscoveryNamespaceName())
+                        .thenReturn(randomString()));
+  }
+
+  static Stream<Arguments> newInstanceWithVpcEndpointsArgs() {
+    return Stream.of(arguments(0, true), arguments(1, true), arguments(1, false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithVpcEndpointsArgs")
+  void newInstanceWithVpcEndpoints(int numberOfPrivateSubnetsPerAZ,
+                                   boolean s3GatewayEndpointEnabled) {
+    testNewInstance(null, 1, 1, 1, 1, inputParams -> {
+      when(inputParams.getNumberOfPrivateSubnetsPerAZ()).thenReturn(numberOfPrivateSubnetsPerAZ);
+      when(inputParams.isS3GatewayEndpointEnabled()).thenReturn(s3GatewayEndpointEnabled);
+      when(inputParams.getInterfaceEndpoints())
+          .thenReturn(List.of(Network.VPC_ENDPOINT_ECR_API, Network.VPC_ENDPOINT_ECR_DOCKER,
+                              Network.VPC_ENDPOINT_CLOUDWATCH_LOGS, Network.VPC_ENDPOINT_SSM,
+                              Network.VPC_ENDPOINT_SECRETS_MANAGER));
+    });
+  }
+
+  @Test
+  void newInstanceThrowsWithUnsupportedInterfaceEndpoint() {
+    Executable executable = () -> testNewInstance(null, 1, 1, 1, 1, inputParams -> when(
+        inputParams.getInterfaceEndpoints()).thenReturn(List.of(randomString())));
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
+  static Stream<Arguments> newInstanceWithLoadBalancerTuningArgs() {
+    return Stream.of(arguments(null, null, false, false, null),
+                     arguments(randomString(), 1, true, true,
+                               Network.DESYNC_MITIGATION_MODE_MONITOR),
+                     arguments(randomString(), 4000, false, true,
+                               Network.DESYNC_MITIGATION_MODE_STRICTEST),
+                     arguments(null, 350, true, false, Network.DESYNC_MITIGATION_MODE_DEFENSIVE));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceWithLoadBalancerTuningArgs")
+  void newInstanceWithLoadBalancerTuning(String sslCertificateArn, Integer idleTimeoutSeconds,
+                                         boolean http2Enabled, boolean dropInvalidHeaderFields,
+                                         String desyncMitigationMode) {
+    testNewInstance(sslCertificateArn, 1, 1, 1, 1, inputParams -> {
+      when(inputParams.getLoadBalancerIdleTimeoutSeconds()).thenReturn(idleTimeoutSeconds);
+      when(inputParams.isHttp2Enabled()).thenReturn(http2Enabled);
+      when(inputParams.isDropInvalidHeaderFields()).thenReturn(dropInvalidHeaderFields);
+      when(inputParams.getDesyncMitigationMode()).thenReturn(desyncMitigationMode);
+      when(inputParams.getSslPolicy()).thenReturn(SslPolicy.RECOMMENDED);
+    });
+  }
+
+  static Stream<Arguments> newInstanceThrowsWithInvalidLoadBalancerTuningArgs() {
+    return Stream.of(arguments(0, null), arguments(4001, null), arguments(null, randomString()));
+  }
+
+  @ParameterizedTest
+  @MethodSource("newInstanceThrowsWithInvalidLoadBalancerTuningArgs")
+  void newInstanceThrowsWithInvalidLoadBalancerTuning(Integer idleTimeoutSeconds,
+                                                      String desyncMitigationMode) {
+    Executable executable = () -> testNewInstance(null, 1, 1, 1, 1, inputParams -> {
+      when(inputParams.getLoadBalancerIdleTimeoutSeconds()).thenReturn(idleTimeoutSeconds);
+      when(inputParams.getDesyncMitigationMode()).thenReturn(desyncMitigationMode);
+    });
+    assertThrows(IllegalArgumentException.class, executable);
+  }
+
   void testNewInstance(String sslCertificateArg, int numberOfIsolatedSubnetsPerAZ,
                        int numberPublicSubnetsPerAZ, int natGatewayNumber, int maxAZs) {
+    testNewInstance(sslCertificateArg, numberOfIsolatedSubnetsPerAZ, numberPublicSubnetsPerAZ,
+                    natGatewayNumber, maxAZs, inputParams -> {});
+  }
+
+  void testNewInstance(String sslCertificateArg, int numberOfIsolatedSubnetsPerAZ,
+                       int numberPublicSubnetsPerAZ, int natGatewayNumber, int maxAZs,
+                       Consumer<Network.InputParameters> inputParamsStubber) {
     StaticallyMockedCdk.executeTest(() -> {
       var subnets = Collections.singletonList(mock(ISubnet.class));
       when(subnets.get(0).getSubnetId()).thenReturn(randomString());
@@ -122,6 +244,9 @@ class NetworkTest {
       when(appLoBalancerBuilderMock.internetFacing(anyBoolean()))
           .thenReturn(appLoBalancerBuilderMock);
       when(appLoBalancerBuilderMock.securityGroup(any())).thenReturn(appLoBalancerBuilderMock);
+      when(appLoBalancerBuilderMock.idleTimeout(any())).thenReturn(appLoBalancerBuilderMock);
+      when(appLoBalancerBuilderMock.http2Enabled(anyBoolean()))
+          .thenReturn(appLoBalancerBuilderMock);
       when(appLoBalancerBuilderMock.build()).thenReturn(appLoadBalancerMock);
 
       var sslCertificateMock = mock(ListenerCertificate.class);
@@ -156,6 +281,8 @@ class NetworkTest {
             .thenReturn(numberOfIsolatedSubnetsPerAZ);
         when(inputParams.getNumberOfPublicSubnetsPerAZ()).thenReturn(numberPublicSubnetsPerAZ);
         when(inputParams.getNatGatewayNumber()).thenReturn(natGatewayNumber);
+        when(inputParams.getLoadBalancerIdleTimeoutSeconds()).thenReturn(null);
+        inputParamsStubber.accept(inputParams);
         var appEnv = Network.defaultNetworkApplicationEnvironment(randomString());
 
         var actual = Network.newInstance(scope, randomString(), appEnv, inputParams);
@@ -205,13 +332,20 @@ class NetworkTest {
         getLoadBalancerDnsName = Network::getLoadBalancerDnsName,
         getLoadBalancerCanonicalHostedZoneId = Network::getLoadBalancerCanonicalHostedZoneId,
         getHttpListenerArn = Network::getHttpListenerArn,
-        getHttpsListenerArn = Network::getHttpsListenerArn;
+        getHttpsListenerArn = Network::getHttpsListenerArn,
+        getServiceDiscoveryNamespaceId = Network::getServiceDiscoveryNamespaceId,
+        getServiceDiscoveryNamespaceName = Network::getServiceDiscoveryNamespaceName,
+        getVpcEndpointsSecurityGroupId = Network::getVpcEndpointsSecurityGroupId,
+        getClusterContainerInsights = Network::getClusterContainerInsights;
 
     return Stream.of(arguments(getVPCId), arguments(getClusterName),
                      arguments(getLoadBalancerSecurityGroupId), arguments(getLoadBalancerArn),
                      arguments(getLoadBalancerDnsName),
                      arguments(getLoadBalancerCanonicalHostedZoneId), arguments(getHttpListenerArn),
-                     arguments(getHttpsListenerArn));
+                     arguments(getHttpsListenerArn), arguments(getServiceDiscoveryNamespaceId),
+                     arguments(getServiceDiscoveryNamespaceName),
+                     arguments(getVpcEndpointsSecurityGroupId),
+                     arguments(getClusterContainerInsights));
   }
 
   @ParameterizedTest
@@ -288,6 +422,15 @@ class NetworkTest {
     testGetParameterList(Network::getIsolatedSubnets, vpcMock);
   }
 
+  @Test
+  void getPrivateSubnets() {
+    IVpc vpcMock = mock(IVpc.class);
+    ISubnet subnet = mock(ISubnet.class);
+    when(vpcMock.getPrivateSubnets()).thenReturn(List.of(subnet, subnet));
+
+    testGetParameterList(Network::getPrivateSubnets, vpcMock);
+  }
+
   @Test
   void getPublicSubnets() {
     IVpc vpcMock = mock(IVpc.class);
@@ -297,6 +440,43 @@ class NetworkTest {
     testGetParameterList(Network::getPublicSubnets, vpcMock);
   }
 
+  static Stream<Arguments> outputParametersFromReadsOptionalParametersOnDemandArgs() {
+    Function<Network.OutputParameters, String>
+        getServiceDiscoveryNamespaceId = Network.OutputParameters::getServiceDiscoveryNamespaceId,
+        getServiceDiscoveryNamespaceName
+            = Network.OutputParameters::getServiceDiscoveryNamespaceName,
+        getVpcEndpointsSecurityGroupId = Network.OutputParameters::getVpcEndpointsSecurityGroupId,
+        getEcsClusterContainerInsights = Network.OutputParameters::getEcsClusterContainerInsights;
+    return Stream.of(arguments("sdNamespaceId", getServiceDiscoveryNamespaceId),
+                     arguments("sdNamespaceName", getServiceDiscoveryNamespaceName),
+                     arguments("vpcEndpSecGroupId", getVpcEndpointsSecurityGroupId),
+                     arguments("clusterContInsights", getEcsClusterContainerInsights));
+  }
+
+  @ParameterizedTest
+  @MethodSource("outputParametersFromReadsOptionalParametersOnDemandArgs")
+  void outputParametersFromReadsOptionalParametersOnDemand(
+      String parameterId, Function<Network.OutputParameters, String> getter) {
+    var stringParamMock = mock(IStringParameter.class);
+    String expected = randomString();
+    when(stringParamMock.getStringValue()).thenReturn(expected);
+
+    try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+      mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(), any()))
+                           .thenReturn(stringParamMock);
+      var scope = mock(Construct.class);
+      var appEnv = Network.defaultNetworkApplicationEnvironment(randomString());
+      Network.OutputParameters output = Network.outputParametersFrom(scope, appEnv);
+      mockedStringParameter.verify(
+          () -> StringParameter.fromStringParameterName(any(), eq(parameterId), any()), never());
+
+      assertEquals(expected, getter.apply(output));
+      assertEquals(expected, getter.apply(output));
+      mockedStringParameter.verify(
+          () -> StringParameter.fromStringParameterName(any(), eq(parameterId), any()), times(1));
+    }
+  }
+
   @Test
   void outputParametersFromReturnsOKWithDefaults() {
     var stringParamMock = mock(IStringParameter.class);
@@ -320,6 +500,10 @@ class NetworkTest {
       assertEquals(expected, output.getLoadBalancerArn());
       assertEquals(expected, output.getLoadBalancerDnsName());
       assertEquals(expected, output.getLoadBalancerCanonicalHostedZoneId());
+      assertEquals(expected, output.getServiceDiscoveryNamespaceId());
+      assertEquals(expected, output.getServiceDiscoveryNamespaceName());
+      assertEquals(expected, output.getVpcEndpointsSecurityGroupId());
+      assertEquals(expected, output.getEcsClusterContainerInsights());
       assertTrue(output.getAvailabilityZones().contains(expected));
       assertTrue(output.getIsolatedSubnets().contains(expected));
       assertTrue(output.getPublicSubnets().contains(expected));
@@ -328,23 +512,45 @@ class NetworkTest {
                    output.getIsolatedSubnets().size());
       assertEquals(Network.DEFAULT_NUMBER_OF_AZ * Network.DEFAULT_NUMBER_OF_PUBLIC_SUBNETS_PER_AZ,
                    output.getPublicSubnets().size());
+      assertEquals(Network.DEFAULT_NUMBER_OF_AZ * Network.DEFAULT_NUMBER_OF_PRIVATE_SUBNETS_PER_AZ,
+                   output.getPrivateSubnets().size());
+    }
+  }
+
+  @Test
+  void outputParametersFromReturnsPrivateSubnets() {
+    var stringParamMock = mock(IStringParameter.class);
+    String expected = randomString();
+    when(stringParamMock.getStringValue()).thenReturn(expected);
+
+    try (var mockedStringParameter = mockStatic(StringParameter.class)) {
+      mockedStringParameter.when(() -> StringParameter.fromStringParameterName(any(), any(), any()))
+                           .thenReturn(stringParamMock);
+      var appEnv = Network.defaultNetworkApplicationEnvironment(randomString());
+      var output = Network.outputParametersFrom(mock(Construct.class), appEnv, 1, 1, 2, 3);
+
+      assertEquals(6, output.getPrivateSubnets().size());
+      assertTrue(output.getPrivateSubnets().contains(expected));
     }
   }
 
   static Stream<Arguments> outputParametersFromThrowsWithIllegalArgsArguments() {
-    return Stream.of(arguments(0, 1, 1), arguments(1, 0, 1), arguments(1, 1, 0));
+    return Stream.of(arguments(0, 1, 0, 1), arguments(1, 0, 0, 1), arguments(1, 1, 0, 0),
+                     arguments(1, 1, -1, 1));
   }
 
   @ParameterizedTest
   @MethodSource("outputParametersFromThrowsWithIllegalArgsArguments")
   void outputParametersFromThrowsWithIllegalArgs(int numberOfIsolatedSubnetsPerAz,
                                                  int numberOfPublicSubnetsPerAz,
+                                                 int numberOfPrivateSubnetsPerAz,
                                                  int totalAvailabilityZones) {
     var appEnv = Network.defaultNetworkApplicationEnvironment(randomString());
     Executable executable = () -> Network.outputParametersFrom(mock(Construct.class),
                                                                appEnv,
                                                                numberOfIsolatedSubnetsPerAz,
                                                                numberOfPublicSubnetsPerAz,
+                                                               numberOfPrivateSubnetsPerAz,
                                                                totalAvailabilityZones);
     assertThrows(IllegalArgumentException.class, executable);
   }
@@ -377,6 +583,18 @@ class NetworkTest {
     var listeningExternalPort = random.nextInt();
     var listeningInternalPort = random.nextInt();
     var listeningHttpsPort = random.nextInt();
+    var fargateCapacityProvidersEnabled = random.nextBoolean();
+    var serviceDiscoveryNamespaceName = randomString();
+    var numberOfPrivateSubnetsPerAZ = random.nextInt();
+    var natGatewayPerAZ = random.nextBoolean();
+    var s3GatewayEndpointEnabled = random.nextBoolean();
+    var interfaceEndpoints = List.of(randomString());
+    var loadBalancerIdleTimeoutSeconds = random.nextInt();
+    var http2Enabled = random.nextBoolean();
+    var desyncMitigationMode = randomString();
+    var dropInvalidHeaderFields = random.nextBoolean();
+    var sslPolicy = SslPolicy.TLS12;
+    var containerInsightsEnabled = random.nextBoolean();
     var input = Network.InputParameters.builder()
                                        .sslCertificateArn(sslCertificateArn)
                                        .natGatewayNumber(natGatewayNumber)
@@ -386,6 +604,18 @@ class NetworkTest {
                                        .listeningExternalHttpPort(listeningExternalPort)
                                        .listeningInternalHttpPort(listeningInternalPort)
                                        .listeningHttpsPort(listeningHttpsPort)
+                                       .fargateCapacityProvidersEnabled(fargateCapacityProvidersEnabled)
+                                       .serviceDiscoveryNamespaceName(serviceDiscoveryNamespaceName)
+                                       .numberOfPrivateSubnetsPerAZ(numberOfPrivateSubnetsPerAZ)
+                                       .natGatewayPerAZ(natGatewayPerAZ)
+                                       .s3GatewayEndpointEnabled(s3GatewayEndpointEnabled)
+                                       .interfaceEndpoints(interfaceEndpoints)
+                                       .loadBalancerIdleTimeoutSeconds(loadBalancerIdleTimeoutSeconds)
+                                       .http2Enabled(http2Enabled)
+                                       .desyncMitigationMode(desyncMitigationMode)
+                                       .dropInvalidHeaderFields(dropInvalidHeaderFields)
+                                       .sslPolicy(sslPolicy)
+                                       .containerInsightsEnabled(containerInsightsEnabled)
                                        .build();
 
     assertNotNull(input);
@@ -398,6 +628,18 @@ class NetworkTest {
     assertEquals(listeningInternalPort, input.getListeningInternalHttpPort());
     assertEquals(listeningHttpsPort, input.getListeningHttpsPort());
     assertEquals(String.valueOf(listeningHttpsPort), input.getListeningHttpsPortString());
+    assertEquals(fargateCapacityProvidersEnabled, input.isFargateCapacityProvidersEnabled());
+    assertEquals(serviceDiscoveryNamespaceName, input.getServiceDiscoveryNamespaceName());
+    assertEquals(numberOfPrivateSubnetsPerAZ, input.getNumberOfPrivateSubnetsPerAZ());
+    assertEquals(natGatewayPerAZ, input.isNatGatewayPerAZ());
+    assertEquals(s3GatewayEndpointEnabled, input.isS3GatewayEndpointEnabled());
+    assertEquals(interfaceEndpoints, input.getInterfaceEndpoints());
+    assertEquals(loadBalancerIdleTimeoutSeconds, input.getLoadBalancerIdleTimeoutSeconds());
+    assertEquals(http2Enabled, input.isHttp2Enabled());
+    assertEquals(desyncMitigationMode, input.getDesyncMitigationMode());
+    assertEquals(dropInvalidHeaderFields, input.isDropInvalidHeaderFields());
+    assertEquals(sslPolicy, input.getSslPolicy());
+    assertEquals(containerInsightsEnabled, input.isContainerInsightsEnabled());
   }
 
   private static Stream<Arguments> isArnNotNullReturnsCorrectlyArgs() {
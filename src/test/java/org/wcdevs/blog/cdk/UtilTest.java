@@ -9,6 +9,7 @@ import software.constructs.Node;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -162,6 +163,34 @@ class UtilTest {
                                                                              randomString())));
   }
 
+  @Test
+  void memoizedGetsTheValueOnce() {
+    var calls = new AtomicInteger();
+    var expected = randomString();
+    var memoized = Util.memoized(() -> {
+      calls.incrementAndGet();
+      return expected;
+    });
+
+    assertEquals(0, calls.get());
+    assertEquals(expected, memoized.get());
+    assertEquals(expected, memoized.get());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void memoizedGetsANullValueOnce() {
+    var calls = new AtomicInteger();
+    var memoized = Util.memoized(() -> {
+      calls.incrementAndGet();
+      return null;
+    });
+
+    assertNull(memoized.get());
+    assertNull(memoized.get());
+    assertEquals(1, calls.get());
+  }
+
   @ParameterizedTest
   @MethodSource("valueAndExpectedForNotEmptyNotNullTest")
   void notEmptyNotNullReturnsExpected(String value, boolean expected) {